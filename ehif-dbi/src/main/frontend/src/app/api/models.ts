@@ -12,6 +12,7 @@ export type { CreateParishionerCommand } from './models/create-parishioner-comma
 export type { CreatePriestCommand } from './models/create-priest-command';
 export type { DeleteTestOutputDto } from './models/delete-test-output-dto';
 export type { Error } from './models/error';
+export type { LatencyStatsDto } from './models/latency-stats-dto';
 export type { MongoIndexTestOutputDto } from './models/mongo-index-test-output-dto';
 export type { NodePath } from './models/node-path';
 export type { ParishDocumentDto } from './models/parish-document-dto';
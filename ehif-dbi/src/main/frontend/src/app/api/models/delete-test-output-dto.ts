@@ -1,7 +1,10 @@
 /* eslint-disable */
 /* Code generated by ng-openapi-gen DO NOT EDIT. */
 
+import { LatencyStatsDto } from '../models/latency-stats-dto';
 export interface DeleteTestOutputDto {
+  mongoStats?: LatencyStatsDto;
   mongoTimeMs?: number;
+  postgresStats?: LatencyStatsDto;
   postgresTimeMs?: number;
 }
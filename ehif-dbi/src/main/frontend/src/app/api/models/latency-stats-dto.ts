@@ -0,0 +1,15 @@
+/* eslint-disable */
+/* Code generated by ng-openapi-gen DO NOT EDIT. */
+
+export interface LatencyStatsDto {
+  ci95LowerMs?: number;
+  ci95UpperMs?: number;
+  maxMs?: number;
+  meanMs?: number;
+  minMs?: number;
+  p50Ms?: number;
+  p90Ms?: number;
+  p99Ms?: number;
+  samples?: number;
+  stdDevMs?: number;
+}
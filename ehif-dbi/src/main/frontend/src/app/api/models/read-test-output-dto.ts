@@ -1,13 +1,22 @@
 /* eslint-disable */
 /* Code generated by ng-openapi-gen DO NOT EDIT. */
 
+import { LatencyStatsDto } from '../models/latency-stats-dto';
 export interface ReadTestOutputDto {
+  mongoFindAllStats?: LatencyStatsDto;
   mongoFindAllTimeMs?: number;
+  mongoWithFilterAndProjectionAndSortStats?: LatencyStatsDto;
   mongoWithFilterAndProjectionAndSortTimeMs?: number;
+  mongoWithFilterAndProjectionStats?: LatencyStatsDto;
   mongoWithFilterAndProjectionTimeMs?: number;
+  mongoWithFilterStats?: LatencyStatsDto;
   mongoWithFilterTimeMs?: number;
+  postgresFindAllStats?: LatencyStatsDto;
   postgresFindAllTimeMs?: number;
+  postgresWithFilterAndProjectionAndSortStats?: LatencyStatsDto;
   postgresWithFilterAndProjectionAndSortTimeMs?: number;
+  postgresWithFilterAndProjectionStats?: LatencyStatsDto;
   postgresWithFilterAndProjectionTimeMs?: number;
+  postgresWithFilterStats?: LatencyStatsDto;
   postgresWithFilterTimeMs?: number;
 }
@@ -2,8 +2,10 @@ package at.spengergasse.ehif_dbi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class EhifDbiApplication {
 
 	public static void main(String[] args) {
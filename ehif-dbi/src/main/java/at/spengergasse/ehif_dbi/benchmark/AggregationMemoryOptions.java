@@ -0,0 +1,29 @@
+package at.spengergasse.ehif_dbi.benchmark;
+
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+
+/**
+ * Speicher-Einstellungen für den Aggregation-Benchmark; null = Server-Default.
+ * workMem gilt per {@code SET LOCAL} nur für die Transaktion der Scale (z.B. "64kB" erzwingt externe Sorts/Hashes),
+ * allowDiskUse = false lässt Mongo-Stages über 100 MB scheitern statt auszulagern.
+ */
+public record AggregationMemoryOptions(
+        String workMem,
+        Boolean allowDiskUse
+) {
+    public static final AggregationMemoryOptions DEFAULT = new AggregationMemoryOptions(null, null);
+
+    public AggregationOptions mongoOptions() {
+        AggregationOptions.Builder builder = AggregationOptions.builder();
+        if (allowDiskUse != null) {
+            builder.allowDiskUse(allowDiskUse);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "work_mem " + (workMem == null ? "default" : workMem)
+                + ", allowDiskUse " + (allowDiskUse == null ? "default" : allowDiskUse);
+    }
+}
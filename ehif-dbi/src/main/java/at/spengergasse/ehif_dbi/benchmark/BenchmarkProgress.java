@@ -0,0 +1,20 @@
+package at.spengergasse.ehif_dbi.benchmark;
+
+/**
+ * Rückkanal eines laufenden Benchmarks, z.B. für Jobs. {@link #phase} ist gleichzeitig
+ * der Punkt, an dem ein abgebrochener Lauf mit einer CancellationException endet.
+ */
+public interface BenchmarkProgress {
+
+    BenchmarkProgress NONE = new BenchmarkProgress() {
+        @Override
+        public void phase(String phase, Integer scale) {}
+
+        @Override
+        public void partialResult(String key, Object result) {}
+    };
+
+    void phase(String phase, Integer scale);
+
+    void partialResult(String key, Object result);
+}
@@ -0,0 +1,28 @@
+package at.spengergasse.ehif_dbi.benchmark;
+
+import at.spengergasse.ehif_dbi.benchmark.measurement.MeasurementSettings;
+import at.spengergasse.ehif_dbi.benchmark.state.CacheMode;
+import at.spengergasse.ehif_dbi.service.mongo.MongoWriteOptions;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "benchmark")
+public record BenchmarkProperties(
+        @DefaultValue({"100", "1000", "100000"}) List<Integer> scales,
+        @DefaultValue("3") int warmupIterations,
+        @DefaultValue("10") int measuredIterations,
+        @DefaultValue("50") double sloP99Ms,
+        String workloadFile,
+        @DefaultValue("benchmark-history") String historyDir,
+        @DefaultValue("5") double regressionThresholdPercent,
+        @DefaultValue("42") long seed,
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("WARM") CacheMode cacheMode,
+        @DefaultValue MongoWriteOptions mongoWrite
+) {
+    public MeasurementSettings measurementSettings() {
+        return new MeasurementSettings(warmupIterations, measuredIterations);
+    }
+}
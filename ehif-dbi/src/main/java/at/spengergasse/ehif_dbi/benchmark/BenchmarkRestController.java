@@ -1,15 +1,31 @@
 package at.spengergasse.ehif_dbi.benchmark;
 
 import at.spengergasse.ehif_dbi.benchmark.dto.*;
+import at.spengergasse.ehif_dbi.benchmark.history.BenchmarkHistoryService;
+import at.spengergasse.ehif_dbi.benchmark.load.LoadBenchmarkRunner;
+import at.spengergasse.ehif_dbi.benchmark.load.LoadOperation;
+import at.spengergasse.ehif_dbi.benchmark.workload.DataShape;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadRunner;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpecLoader;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.service.mongo.MongoWriteOptions;
 import at.spengergasse.ehif_dbi.service.mongo.ParishDocumentSchemaValidator;
+import at.spengergasse.ehif_dbi.service.mongo.WriteConcernLevel;
 import com.networknt.schema.Error;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -19,42 +35,255 @@ import java.util.Map;
 public class BenchmarkRestController {
 
     private final BenchmarkRunner benchmarkRunner;
+    private final LoadBenchmarkRunner loadBenchmarkRunner;
+    private final BenchmarkProperties benchmarkProperties;
+    private final WorkloadRunner workloadRunner;
+    private final WorkloadSpecLoader workloadSpecLoader;
     private final ParishDocumentSchemaValidator parishDocumentSchemaValidator;
+    private final BenchmarkHistoryService benchmarkHistoryService;
+
+    @Operation(summary = "Run a workload spec (posted, or from benchmark.workload-file when the body is empty)")
+    @PostMapping
+    public ResponseEntity<WorkloadResultDto> runWorkload(@Valid @RequestBody(required = false) WorkloadSpec workloadSpec) {
+        WorkloadSpec spec = workloadSpec != null ? workloadSpec : workloadSpecLoader.loadConfigured();
+        return ResponseEntity.ok(benchmarkHistoryService.record("WORKLOAD", Map.of(), spec, workloadRunner.run(spec)));
+    }
 
     @Operation(summary = "Run write benchmarks")
     @GetMapping("/writes")
     public ResponseEntity<Map<Integer, WriteTestOutputDto>> runWrites() {
-        return ResponseEntity.ok(benchmarkRunner.runWriteBenchmarks());
+        return ResponseEntity.ok(record("WRITES", benchmarkRunner.runWriteBenchmarks()));
     }
 
     @Operation(summary = "Run read benchmarks")
     @GetMapping("/reads")
-    public ResponseEntity<ReadTestOutputDto> runReads() {
-        return ResponseEntity.ok(benchmarkRunner.runReadBenchmarks());
+    public ResponseEntity<ReadTestOutputDto> runReads(@RequestParam(defaultValue = "false") boolean rawPlans) {
+        return ResponseEntity.ok(record("READS", benchmarkRunner.runReadBenchmarks(rawPlans)));
     }
 
     @Operation(summary = "Run update benchmarks")
     @GetMapping("/updates")
     public ResponseEntity<UpdateTestOutputDto> runUpdates() {
-        return ResponseEntity.ok(benchmarkRunner.runUpdateBenchmarks());
+        return ResponseEntity.ok(record("UPDATES", benchmarkRunner.runUpdateBenchmarks()));
     }
 
     @Operation(summary = "Run delete benchmarks")
     @GetMapping("/deletes")
     public ResponseEntity<DeleteTestOutputDto> runDeletes() {
-        return ResponseEntity.ok(benchmarkRunner.runDeleteBenchmarks());
+        return ResponseEntity.ok(record("DELETES", benchmarkRunner.runDeleteBenchmarks()));
     }
 
     @Operation(summary = "Run mongo find query with/without index comparisons")
     @GetMapping("/mongo-index")
-    public ResponseEntity<MongoIndexTestOutputDto> runMongoIndex() {
-        return ResponseEntity.ok(benchmarkRunner.runMongoIndexBenchmarks());
+    public ResponseEntity<MongoIndexTestOutputDto> runMongoIndex(@RequestParam(defaultValue = "false") boolean rawPlans) {
+        return ResponseEntity.ok(record("MONGO_INDEX", benchmarkRunner.runMongoIndexBenchmarks(rawPlans)));
+    }
+
+    @Operation(summary = "Run postgres queries without index and with btree, brin and covering indexes on foundedYear")
+    @GetMapping("/postgres-index")
+    public ResponseEntity<PostgresIndexTestOutputDto> runPostgresIndex(@RequestParam(defaultValue = "false") boolean rawPlans) {
+        return ResponseEntity.ok(record("POSTGRES_INDEX", benchmarkRunner.runPostgresIndexBenchmarks(rawPlans)));
     }
 
-    @Operation(summary = "Run aggregation benchmarks")
+    @Operation(summary = "Run by-id and query-cache reads with the hibernate second-level cache off, cold and warm")
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<SecondLevelCacheTestOutputDto> runSecondLevelCache() {
+        return ResponseEntity.ok(record("SECOND_LEVEL_CACHE", benchmarkRunner.runSecondLevelCacheBenchmarks()));
+    }
+
+    @Operation(summary = "Run aggregation reports (average, foundedYear buckets, parishioner stats, shared priests) on every scale, optionally with work_mem/allowDiskUse")
     @GetMapping("/aggregation")
-    public ResponseEntity<AggregationTestOutputDto> runAggregation() {
-        return ResponseEntity.ok(benchmarkRunner.runAggregationBenchmarks());
+    public ResponseEntity<Map<Integer, AggregationTestOutputDto>> runAggregation(
+            @RequestParam(defaultValue = "false") boolean rawPlans,
+            @RequestParam(defaultValue = "2") @Min(0) int priestsPerParish,
+            @RequestParam(defaultValue = "10") @Min(0) int parishionersPerParish,
+            @RequestParam(required = false) String workMem,
+            @RequestParam(required = false) Boolean allowDiskUse
+    ) {
+        AggregationMemoryOptions memoryOptions = new AggregationMemoryOptions(workMem, allowDiskUse);
+        Map<String, Object> parameters = Map.of(
+                "scales", benchmarkProperties.scales(),
+                "priestsPerParish", priestsPerParish,
+                "parishionersPerParish", parishionersPerParish,
+                "memoryOptions", memoryOptions
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("AGGREGATION", parameters, null, benchmarkRunner.runAggregationBenchmarks(
+                new DataShape(priestsPerParish, parishionersPerParish),
+                memoryOptions,
+                rawPlans,
+                BenchmarkProgress.NONE
+        )));
+    }
+
+    @Operation(summary = "Run the mongo bulk-write matrix (ordered × chunk size × write concern × parallelism) on the largest scale")
+    @GetMapping("/mongo-writes")
+    public ResponseEntity<MongoWriteMatrixOutputDto> runMongoWrites(
+            @RequestParam(defaultValue = "true,false") List<Boolean> ordered,
+            @RequestParam(defaultValue = "100,1000,10000") List<@Positive Integer> chunkSizes,
+            @RequestParam(defaultValue = "W0,W1,MAJORITY,JOURNALED") List<WriteConcernLevel> writeConcerns,
+            @RequestParam(defaultValue = "1,4") List<@Positive Integer> parallelism,
+            @RequestParam(defaultValue = "2") @Min(0) int priestsPerParish,
+            @RequestParam(defaultValue = "20") @Min(0) int parishionersPerParish
+    ) {
+        Map<String, Object> parameters = Map.of(
+                "scales", benchmarkProperties.scales(),
+                "ordered", ordered,
+                "chunkSizes", chunkSizes,
+                "writeConcerns", writeConcerns,
+                "parallelism", parallelism,
+                "priestsPerParish", priestsPerParish,
+                "parishionersPerParish", parishionersPerParish
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("MONGO_WRITES", parameters, null, benchmarkRunner.runMongoWriteBenchmarks(
+                new DataShape(priestsPerParish, parishionersPerParish),
+                MongoWriteOptions.matrix(ordered, chunkSizes, writeConcerns, parallelism)
+        )));
+    }
+
+    @Operation(summary = "Compare whole-document save against $set/$push/$pull on embedded parishioners for growing array sizes")
+    @GetMapping("/embedded-updates")
+    public ResponseEntity<EmbeddedUpdateTestOutputDto> runEmbeddedUpdates(
+            @RequestParam(defaultValue = "10,100,1000,10000") List<@Positive Integer> arraySizes
+    ) {
+        return ResponseEntity.ok(benchmarkHistoryService.record(
+                "EMBEDDED_UPDATES",
+                Map.of("arraySizes", arraySizes),
+                null,
+                benchmarkRunner.runEmbeddedUpdateBenchmarks(arraySizes)
+        ));
+    }
+
+    @Operation(summary = "Run closed-loop load benchmarks on virtual threads, sweeping concurrency 1..maxConcurrency")
+    @GetMapping("/load")
+    public ResponseEntity<LoadTestOutputDto> runLoad(
+            @RequestParam LoadOperation operation,
+            @RequestParam(defaultValue = "64") @Min(1) int maxConcurrency,
+            @RequestParam(defaultValue = "2") @Min(0) int warmupSeconds,
+            @RequestParam(defaultValue = "10") @Min(1) int durationSeconds
+    ) {
+        Map<String, Object> parameters = Map.of(
+                "operation", operation,
+                "maxConcurrency", maxConcurrency,
+                "warmupSeconds", warmupSeconds,
+                "durationSeconds", durationSeconds
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("LOAD", parameters, null, loadBenchmarkRunner.runClosedLoopBenchmarks(
+                operation,
+                maxConcurrency,
+                Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds)
+        )));
+    }
+
+    @Operation(summary = "Let N virtual threads update the same parish and measure throughput and optimistic-locking retries per operation")
+    @GetMapping("/contention")
+    public ResponseEntity<ContentionTestOutputDto> runContention(
+            @RequestParam(defaultValue = "1,4,16,64") List<@Positive Integer> concurrencies,
+            @RequestParam(defaultValue = "2") @Min(0) int warmupSeconds,
+            @RequestParam(defaultValue = "10") @Min(1) int durationSeconds
+    ) {
+        Map<String, Object> parameters = Map.of(
+                "concurrencies", concurrencies,
+                "warmupSeconds", warmupSeconds,
+                "durationSeconds", durationSeconds
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("CONTENTION", parameters, null, loadBenchmarkRunner.runContentionBenchmarks(
+                concurrencies,
+                Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds)
+        )));
+    }
+
+    @Operation(summary = "Drive a REST endpoint over HTTP with platform-thread and virtual-thread request handling, sweeping concurrency 1..maxConcurrency")
+    @GetMapping("/thread-models")
+    public ResponseEntity<ThreadModelTestOutputDto> runThreadModels(
+            @RequestParam(defaultValue = "/api/parish/page?size=50") String path,
+            @RequestParam(defaultValue = "512") @Min(1) int maxConcurrency,
+            @RequestParam(defaultValue = "2") @Min(0) int warmupSeconds,
+            @RequestParam(defaultValue = "10") @Min(1) int durationSeconds
+    ) {
+        // nur die eigene API, und nicht die Benchmarks selbst
+        if (!path.startsWith("/api/") || path.startsWith("/api/benchmarks")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Path must be an /api endpoint outside /api/benchmarks");
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "path", path,
+                "maxConcurrency", maxConcurrency,
+                "warmupSeconds", warmupSeconds,
+                "durationSeconds", durationSeconds
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("THREAD_MODELS", parameters, null, loadBenchmarkRunner.runThreadModelBenchmarks(
+                path,
+                maxConcurrency,
+                Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds)
+        )));
+    }
+
+    @Operation(summary = "Compare blocking and reactive MongoDB access for one operation, sweeping concurrency 1..maxConcurrency")
+    @GetMapping("/reactive")
+    public ResponseEntity<ReactiveTestOutputDto> runReactive(
+            @RequestParam LoadOperation operation,
+            @RequestParam(defaultValue = "1024") @Min(1) int maxConcurrency,
+            @RequestParam(defaultValue = "2") @Min(0) int warmupSeconds,
+            @RequestParam(defaultValue = "10") @Min(1) int durationSeconds
+    ) {
+        Map<String, Object> parameters = Map.of(
+                "operation", operation,
+                "maxConcurrency", maxConcurrency,
+                "warmupSeconds", warmupSeconds,
+                "durationSeconds", durationSeconds
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("REACTIVE", parameters, null, loadBenchmarkRunner.runReactiveBenchmarks(
+                operation,
+                maxConcurrency,
+                Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds)
+        )));
+    }
+
+    @Operation(summary = "Run open-loop constant-arrival-rate benchmarks and find the max throughput within the p99 SLO")
+    @GetMapping("/open-loop")
+    public ResponseEntity<OpenLoopTestOutputDto> runOpenLoop(
+            @RequestParam LoadOperation operation,
+            @RequestParam(defaultValue = "50") @Positive double startRate,
+            @RequestParam(defaultValue = "5000") @Positive double maxRate,
+            @RequestParam(defaultValue = "1.5") @DecimalMin("1.05") double rateFactor,
+            @RequestParam(required = false) @Positive Double sloP99Ms,
+            @RequestParam(defaultValue = "2") @Min(0) int warmupSeconds,
+            @RequestParam(defaultValue = "10") @Min(1) int durationSeconds
+    ) {
+        double slo = sloP99Ms != null ? sloP99Ms : benchmarkProperties.sloP99Ms();
+        Map<String, Object> parameters = Map.of(
+                "operation", operation,
+                "startRate", startRate,
+                "maxRate", maxRate,
+                "rateFactor", rateFactor,
+                "sloP99Ms", slo,
+                "warmupSeconds", warmupSeconds,
+                "durationSeconds", durationSeconds
+        );
+
+        return ResponseEntity.ok(benchmarkHistoryService.record("OPEN_LOOP", parameters, null, loadBenchmarkRunner.runOpenLoopBenchmarks(
+                operation,
+                startRate,
+                maxRate,
+                rateFactor,
+                slo,
+                Duration.ofSeconds(warmupSeconds),
+                Duration.ofSeconds(durationSeconds)
+        )));
+    }
+
+    private <T> T record(String type, T result) {
+        return benchmarkHistoryService.record(type, Map.of("scales", benchmarkProperties.scales()), null, result);
     }
 
     @Operation(summary = "Validate parishDocument against json schema")
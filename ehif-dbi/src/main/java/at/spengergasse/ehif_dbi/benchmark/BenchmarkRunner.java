@@ -1,59 +1,157 @@
 package at.spengergasse.ehif_dbi.benchmark;
 
+import at.spengergasse.ehif_dbi.benchmark.data.SyntheticDataGenerator;
 import at.spengergasse.ehif_dbi.benchmark.dto.*;
+import at.spengergasse.ehif_dbi.benchmark.measurement.MeasurementEngine;
+import at.spengergasse.ehif_dbi.benchmark.measurement.MeasurementSettings;
+import at.spengergasse.ehif_dbi.benchmark.plan.QueryPlanCollector;
+import at.spengergasse.ehif_dbi.benchmark.state.BenchmarkStateManager;
+import at.spengergasse.ehif_dbi.benchmark.state.CacheMode;
+import at.spengergasse.ehif_dbi.benchmark.state.SecondLevelCacheMode;
+import at.spengergasse.ehif_dbi.benchmark.workload.DataShape;
 import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishionerEmbedded;
 import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.domain.postgres.Priest;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.ParishDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.PriestDto;
 import at.spengergasse.ehif_dbi.persistence.mongo.ParishDocumentRepository;
 import at.spengergasse.ehif_dbi.persistence.postgres.ParishRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.PriestRepository;
+import at.spengergasse.ehif_dbi.service.mongo.MongoWriteOptions;
+import at.spengergasse.ehif_dbi.service.mongo.ParishDocumentBulkWriter;
+import at.spengergasse.ehif_dbi.service.mongo.WriteConcernLevel;
+import at.spengergasse.ehif_dbi.service.postgres.ParishBulkLoadService;
 import com.mongodb.BasicDBObject;
 import com.mongodb.client.result.UpdateResult;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BenchmarkRunner {
 
+    private static final String DROP_BENCHMARK_INDEX = "DROP INDEX IF EXISTS " + PostgresIndexVariant.INDEX_NAME;
+    private static final String DROP_KEYSET_INDEX = "DROP INDEX IF EXISTS ix_parish_founded_year_id";
+    private static final String CREATE_KEYSET_INDEX = "CREATE INDEX IF NOT EXISTS ix_parish_founded_year_id ON parish (founded_year, id)";
+
+    // w:0-Writes: Abfrageintervall und maximale Zeit ohne neue Dokumente
+    private static final Duration W0_POLL_INTERVAL = Duration.ofNanos(100_000);
+    private static final Duration W0_STALL_TIMEOUT = Duration.ofSeconds(30);
+
+    // wiederholte Reads auf dieselben Parishes/Priests
+    private static final int HOT_SET_SIZE = 100;
+    private static final DataShape SECOND_LEVEL_CACHE_SHAPE = new DataShape(2, 10);
+
+    // Aggregation: Bucket-Breite wie in ParishRepository.countByFoundedYearBucket
+    private static final int FOUNDED_YEAR_BUCKET = 10;
+    private static final long SHARED_PRIEST_MIN_PARISHES = 2;
+    private static final DataShape AGGREGATION_SHAPE = new DataShape(2, 10);
+
+    // wird vor jeder Iteration hinzugefügt bzw. entfernt, damit alle Iterationen dieselbe Array-Größe sehen
+    private static final String EXTRA_PARISHIONER = "Extra";
+    private static final String PG_FORM_PARISH_ASSOCIATIONS = """
+            INSERT INTO parish_priest (parish_id, priest_id)
+            SELECT member.id, leader.priest_id
+            FROM (
+                SELECT DISTINCT ON (p.location, p.founded_year) p.id, p.location, p.founded_year,
+                       (SELECT MIN(pp.priest_id) FROM parish_priest pp WHERE pp.parish_id = p.id) AS priest_id
+                FROM parish p
+                WHERE EXISTS (SELECT 1 FROM parish_priest pp WHERE pp.parish_id = p.id)
+                ORDER BY p.location, p.founded_year, p.name COLLATE "C"
+            ) leader
+            JOIN parish member ON member.location = leader.location AND member.founded_year = leader.founded_year AND member.id <> leader.id
+            """;
+
+    // SQL-Gegenstücke der Repository-Abfragen für EXPLAIN
+    private static final String PG_FOUNDED_YEAR_BETWEEN = "SELECT * FROM parish WHERE founded_year BETWEEN ? AND ?";
+    private static final String PG_FOUNDED_YEAR_EQUALS = "SELECT * FROM parish WHERE founded_year = ?";
+    private static final String PG_FOUNDED_YEAR_BUCKETS =
+            "SELECT founded_year - MOD(founded_year, 10) AS bucket_start, COUNT(*) FROM parish GROUP BY bucket_start ORDER BY bucket_start";
+    private static final String PG_PARISHIONER_STATS = "SELECT p.id, COUNT(pa.id), AVG(EXTRACT(YEAR FROM pa.birth_date)), "
+            + "MIN(EXTRACT(YEAR FROM pa.birth_date)), MAX(EXTRACT(YEAR FROM pa.birth_date)) "
+            + "FROM parish p JOIN parishioner pa ON pa.parish_id = p.id GROUP BY p.id";
+    private static final String PG_SHARED_PRIESTS = "SELECT pr.id, COUNT(pp.parish_id) FROM priest pr JOIN parish_priest pp ON pp.priest_id = pr.id "
+            + "GROUP BY pr.id HAVING COUNT(pp.parish_id) >= ? ORDER BY COUNT(pp.parish_id) DESC";
+    private static final String PG_SUMMARIES = "SELECT id, name, location, founded_year FROM parish";
+    private static final String PG_SUMMARIES_FOUNDED_YEAR_BETWEEN = PG_SUMMARIES + " WHERE founded_year BETWEEN ? AND ?";
+    private static final String PG_SUMMARIES_FOUNDED_YEAR_BETWEEN_DESC = PG_SUMMARIES_FOUNDED_YEAR_BETWEEN + " ORDER BY founded_year DESC";
+
     private final ParishRepository parishRepository;
+    private final PriestRepository priestRepository;
     private final ParishDocumentRepository parishDocumentRepository;
     private final MongoTemplate mongoTemplate;
+    private final MeasurementEngine measurementEngine;
+    private final BenchmarkProperties benchmarkProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final BenchmarkStateManager benchmarkStateManager;
+    private final ParishBulkLoadService parishBulkLoadService;
+    private final ParishDocumentBulkWriter parishDocumentBulkWriter;
+    private final QueryPlanCollector queryPlanCollector;
 
     @PersistenceContext
     private EntityManager em;
 
-    // später kannst du 100_000 ergänzen
-    private static final int[] SCALES = {100, 1_000, 100_000};
-
     // ===========================================================
     // ÖFFENTLICHE METHODEN – werden vom Controller aufgerufen
     // ===========================================================
 
     /** Nur Writes (inkl. Reset davor) */
-    @Transactional()
     public Map<Integer, WriteTestOutputDto> runWriteBenchmarks() {
+        return runWriteBenchmarks(BenchmarkProgress.NONE);
+    }
+
+    /** Eine Transaktion pro Scale, davor leere Stores und der konfigurierte Cache-Modus */
+    public Map<Integer, WriteTestOutputDto> runWriteBenchmarks(BenchmarkProgress progress) {
         System.out.println("=== WRITE BENCHMARKS STARTED ===");
 
         Map<Integer, WriteTestOutputDto> output = new HashMap<>();
 
-        for (int n : SCALES) {
+        for (int n : benchmarkProperties.scales()) {
             System.out.println();
             System.out.println("========== SCALE n = " + n + " ==========");
 
-            output.put(n, runWritesForScale(n));
+            progress.phase("WRITE", n);
+            benchmarkStateManager.resetStores();
+            benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
+
+            WriteTestOutputDto result = transactionTemplate.execute(status ->
+                    runWritesForScale(n, DataShape.FLAT, settings())
+            );
+            progress.partialResult("WRITE@" + n, result);
+
+            output.put(n, result);
         }
 
         System.out.println();
@@ -62,16 +160,19 @@ public class BenchmarkRunner {
         return output;
     }
 
-    /** Nur Reads – erwartet, dass vorher Daten geschrieben wurden */
-    @Transactional(readOnly = true)
+    /** Nur Reads – auf frisch befüllten Stores in der größten Scale */
     public ReadTestOutputDto runReadBenchmarks() {
+        return runReadBenchmarks(false);
+    }
+
+    /** rawPlans: zusätzlich zur Zusammenfassung den vollständigen EXPLAIN-Output mitliefern */
+    public ReadTestOutputDto runReadBenchmarks(boolean rawPlans) {
         System.out.println("=== READ BENCHMARKS STARTED ===");
 
         System.out.println();
+        prepare(maxScale());
 
-        mongoTemplate.find(new Query(), ParishDocument.class);
-
-        ReadTestOutputDto output = runReadsForScale();
+        ReadTestOutputDto output = transactionTemplate.execute(status -> runReadsForScale(maxScale(), settings(), rawPlans));
 
         System.out.println();
         System.out.println("=== READ BENCHMARKS FINISHED ===");
@@ -79,15 +180,14 @@ public class BenchmarkRunner {
         return output;
     }
 
-    /** Nur Updates – erwartet vorhandene Daten */
-    @Transactional()
+    /** Nur Updates – auf frisch befüllten Stores in der größten Scale */
     public UpdateTestOutputDto runUpdateBenchmarks() {
         System.out.println("=== UPDATE BENCHMARKS STARTED ===");
 
         System.out.println();
-        System.out.println("NOTE: expects existing data");
+        prepare(maxScale());
 
-        UpdateTestOutputDto outputDto = runUpdatesForScale();
+        UpdateTestOutputDto outputDto = transactionTemplate.execute(status -> runUpdatesForScale(settings()));
 
         System.out.println();
         System.out.println("=== UPDATE BENCHMARKS FINISHED ===");
@@ -96,14 +196,16 @@ public class BenchmarkRunner {
     }
 
     /** Nur Deletes */
-    @Transactional()
     public DeleteTestOutputDto runDeleteBenchmarks() {
         System.out.println("=== DELETE BENCHMARKS STARTED ===");
 
         System.out.println();
         System.out.println("NOTE: deleteAll");
+        prepare(maxScale());
 
-        DeleteTestOutputDto outputDto = runDeletesForScale();
+        DeleteTestOutputDto outputDto = transactionTemplate.execute(status ->
+                runDeletes(maxScale(), maxScale(), DataShape.FLAT, settings())
+        );
 
         System.out.println();
         System.out.println("=== DELETE BENCHMARKS FINISHED ===");
@@ -111,140 +213,456 @@ public class BenchmarkRunner {
         return outputDto;
     }
 
-    public MongoIndexTestOutputDto runMongoIndexBenchmarks() {
-        System.out.println("=== MONGO INDEX BENCHMARKS STARTED ===");
+    /** Ordered/Unordered × Chunk-Größe × Write Concern × Parallelität auf der größten Scale */
+    public MongoWriteMatrixOutputDto runMongoWriteBenchmarks(DataShape dataShape, List<MongoWriteOptions> strategies) {
+        System.out.println("=== MONGO WRITE BENCHMARKS STARTED ===");
 
-        int approxMaxEntries = Arrays.stream(SCALES).max().getAsInt();
+        benchmarkStateManager.resetStores();
+        benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
 
-        Random r = new Random();
-        int year = 1970 + r.nextInt(approxMaxEntries);
+        MongoWriteMatrixOutputDto output = runMongoWriteMatrix(maxScale(), dataShape, strategies, settings());
 
-        int iterations = 10;
-        long timeNoIndex = 0;
-        long timeWithIndex = 0;
+        System.out.println();
+        System.out.println("=== MONGO WRITE BENCHMARKS FINISHED ===");
 
-        for (int i = 0; i < iterations; i++) {
-            timeNoIndex += measureMillis(() -> findMongoWithoutIndex(year));
-            timeWithIndex += measureMillis(() -> findMongoWithIndex(year));
-        }
+        return output;
+    }
+
+    public MongoIndexTestOutputDto runMongoIndexBenchmarks() {
+        return runMongoIndexBenchmarks(false);
+    }
+
+    public MongoIndexTestOutputDto runMongoIndexBenchmarks(boolean rawPlans) {
+        System.out.println("=== MONGO INDEX BENCHMARKS STARTED ===");
+
+        prepare(maxScale());
 
-        timeNoIndex /= iterations;
-        timeWithIndex /= iterations;
+        SplittableRandom r = syntheticDataGenerator.queryRandom();
+        int year = SyntheticDataGenerator.FIRST_YEAR + r.nextInt(SyntheticDataGenerator.YEAR_SPREAD);
+
+        LatencyStatsDto timeNoIndex = measure(() -> findMongoWithoutIndex(year));
+        LatencyStatsDto timeWithIndex = measure(() -> findMongoWithIndex(year));
 
         System.out.println("-- FIND: without/with index");
-        System.out.println("MongoDB without Index time : " + timeNoIndex + " ms");
-        System.out.println("MongoDB with Index time : " + timeWithIndex + " ms");
+        print("MongoDB without Index time", timeNoIndex);
+        print("MongoDB with Index time", timeWithIndex);
 
         System.out.println("=== MONGO INDEX BENCHMARKS FINISHED ===");
 
-        return new MongoIndexTestOutputDto(timeNoIndex, timeWithIndex);
+        return new MongoIndexTestOutputDto(timeNoIndex, timeWithIndex, plans(
+                rawPlans,
+                queryPlanCollector.explainMongo("findByFoundedYear", Query.query(Criteria.where("foundedYear").is(year))),
+                queryPlanCollector.explainMongo("findByFoundedYearIndexed", Query.query(Criteria.where("foundedYearIndexed").is(year)))
+        ));
     }
 
-    @Transactional(readOnly = true)
-    public AggregationTestOutputDto runAggregationBenchmarks() {
+    /**
+     * Gegenstück zu runMongoIndexBenchmarks: pro Variante Index bauen (Dauer + Größe), danach Range-,
+     * Gleichheits- und projizierte Range-Abfrage messen. Der Keyset-Index (founded_year, id) wird
+     * währenddessen entfernt, sonst würde der Planner ihn in allen Varianten verwenden.
+     */
+    public PostgresIndexTestOutputDto runPostgresIndexBenchmarks() {
+        return runPostgresIndexBenchmarks(false);
+    }
+
+    public PostgresIndexTestOutputDto runPostgresIndexBenchmarks(boolean rawPlans) {
+        System.out.println("=== POSTGRES INDEX BENCHMARKS STARTED ===");
+
+        prepare(maxScale());
+
+        // gleiches Jahr wie runMongoIndexBenchmarks, danach das Fenster wie bei den Reads
+        SplittableRandom r = syntheticDataGenerator.queryRandom();
+        int year = SyntheticDataGenerator.FIRST_YEAR + r.nextInt(SyntheticDataGenerator.YEAR_SPREAD);
+        int window = SyntheticDataGenerator.YEAR_SPREAD / 5;
+        int minFoundedYear = SyntheticDataGenerator.FIRST_YEAR + r.nextInt(SyntheticDataGenerator.YEAR_SPREAD - window);
+        int maxFoundedYear = minFoundedYear + window - 1;
+
+        // nahe 0: physische Reihenfolge unabhängig von founded_year, BRIN kann kaum Blöcke ausschließen
+        Double correlation = transactionTemplate.execute(status -> foundedYearCorrelation());
+        List<PostgresIndexVariantResultDto> variants = new ArrayList<>();
+
+        executeDdl(DROP_KEYSET_INDEX);
+        try {
+            for (PostgresIndexVariant variant : PostgresIndexVariant.values()) {
+                System.out.println();
+                System.out.println("-- POSTGRES INDEX: " + variant);
+                variants.add(runPostgresIndexVariant(variant, year, minFoundedYear, maxFoundedYear, rawPlans));
+            }
+        } finally {
+            executeDdl(DROP_BENCHMARK_INDEX);
+            executeDdl(CREATE_KEYSET_INDEX);
+        }
+
+        System.out.println("=== POSTGRES INDEX BENCHMARKS FINISHED ===");
+
+        return new PostgresIndexTestOutputDto(maxScale(), correlation, variants);
+    }
+
+    public Map<Integer, AggregationTestOutputDto> runAggregationBenchmarks(BenchmarkProgress progress) {
+        return runAggregationBenchmarks(AGGREGATION_SHAPE, AggregationMemoryOptions.DEFAULT, false, progress);
+    }
+
+    /**
+     * Berichte pro Scale: globaler Durchschnitt, Parishes pro Jahrzehnt, Parishioner-Statistik pro Parish
+     * und Priests mehrerer Parishes. Vor dem Messen werden Pfarrverbände gebildet, sonst hätte jeder Priest genau eine Parish.
+     */
+    public Map<Integer, AggregationTestOutputDto> runAggregationBenchmarks(
+            DataShape dataShape,
+            AggregationMemoryOptions memoryOptions,
+            boolean rawPlans,
+            BenchmarkProgress progress
+    ) {
         System.out.println("=== AGGREGATION BENCHMARKS STARTED ===");
+        System.out.println("NOTE: " + memoryOptions);
+
+        Map<Integer, AggregationTestOutputDto> output = new HashMap<>();
+
+        for (int n : benchmarkProperties.scales()) {
+            System.out.println();
+            System.out.println("========== SCALE n = " + n + " ==========");
+
+            progress.phase("AGGREGATION", n);
+            benchmarkStateManager.resetStores();
+            transactionTemplate.executeWithoutResult(status -> {
+                seed(n, dataShape);
+                formParishAssociations();
+            });
+            // der Insert in parish_priest läuft an Hibernate vorbei
+            benchmarkStateManager.evictSecondLevelCache();
+            benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
+
+            AggregationTestOutputDto result = transactionTemplate.execute(status ->
+                    runAggregationsForScale(settings(), memoryOptions, rawPlans)
+            );
+            progress.partialResult("AGGREGATION@" + n, result);
+
+            output.put(n, result);
+        }
+
+        System.out.println();
+        System.out.println("=== AGGREGATION BENCHMARKS FINISHED ===");
+
+        return output;
+    }
+
+    /**
+     * Read-Suite gegen den Second-Level-Cache, je einmal OFF, COLD und WARM: Parishes und Priests eines
+     * festen Hot Sets per Id samt DTO-Mapping (Entity- und Collection-Regionen) sowie eine Range-Abfrage
+     * über den Query Cache.
+     */
+    public SecondLevelCacheTestOutputDto runSecondLevelCacheBenchmarks() {
+        System.out.println("=== SECOND LEVEL CACHE BENCHMARKS STARTED ===");
+
+        prepare(maxScale(), SECOND_LEVEL_CACHE_SHAPE);
+
+        List<Parish.ParishId> parishIds = transactionTemplate.execute(status -> parishRepository.findIds(Limit.of(HOT_SET_SIZE)));
+        List<Priest.PriestId> priestIds = transactionTemplate.execute(status -> priestRepository.findIds(Limit.of(HOT_SET_SIZE)));
+
+        SplittableRandom r = syntheticDataGenerator.queryRandom();
+        int window = SyntheticDataGenerator.YEAR_SPREAD / 5;
+        int minFoundedYear = SyntheticDataGenerator.FIRST_YEAR + r.nextInt(SyntheticDataGenerator.YEAR_SPREAD - window);
+        int maxFoundedYear = minFoundedYear + window - 1;
+
+        List<SecondLevelCacheModeResultDto> modes = new ArrayList<>();
+
+        for (SecondLevelCacheMode mode : SecondLevelCacheMode.values()) {
+            System.out.println();
+            System.out.println("-- SECOND LEVEL CACHE: " + mode);
+
+            benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
+            benchmarkStateManager.evictSecondLevelCache();
+
+            modes.add(transactionTemplate.execute(status ->
+                    runSecondLevelCacheMode(mode, parishIds, priestIds, minFoundedYear, maxFoundedYear)
+            ));
+        }
+
         System.out.println();
-        System.out.println("NOTE: aggregate");
+        System.out.println("=== SECOND LEVEL CACHE BENCHMARKS FINISHED ===");
+
+        return new SecondLevelCacheTestOutputDto(maxScale(), HOT_SET_SIZE, modes);
+    }
 
-        long pgTime = measureMillis(parishRepository::averageFoundedYear);
-        long mongoTime = measureMillis(this::averageFoundedYearMongo);
+    /**
+     * Ganzes Dokument laden und speichern gegen gezielte $set/$push/$pull-Updates auf einem Parishioner,
+     * je ein Dokument pro Array-Größe. Mit wachsendem Array wächst nur der Aufwand des Round Trips.
+     */
+    public EmbeddedUpdateTestOutputDto runEmbeddedUpdateBenchmarks(List<Integer> arraySizes) {
+        System.out.println("=== EMBEDDED UPDATE BENCHMARKS STARTED ===");
 
-        System.out.println("Postgres avg foundedYear: " + pgTime + "ms");
-        System.out.println("Mongo avg foundedYear: " + mongoTime + "ms");
+        benchmarkStateManager.resetStores();
+        benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
+
+        List<EmbeddedUpdateResultDto> results = new ArrayList<>();
+
+        for (int arraySize : arraySizes) {
+            System.out.println();
+            System.out.println("-- EMBEDDED UPDATES: " + arraySize + " parishioners");
+            results.add(runEmbeddedUpdates(arraySize, settings()));
+        }
 
         System.out.println();
-        System.out.println("=== MONGO INDEX BENCHMARKS FINISHED ===");
+        System.out.println("=== EMBEDDED UPDATE BENCHMARKS FINISHED ===");
 
-        return new AggregationTestOutputDto(pgTime, mongoTime);
+        return new EmbeddedUpdateTestOutputDto(results);
     }
 
     // ===========================================================
-    // PRIVATE HILFSMETHODEN PRO KATEGORIE
+    // PRO SCALE – werden auch vom WorkloadRunner aufgerufen
     // ===========================================================
 
-    private WriteTestOutputDto runWritesForScale(int n) {
-        long pgWrite = measureMillis(() -> writeParishesPostgres(n));
-        long mongoWrite = measureMillis(() -> writeParishesMongo(n));
+    /** Leert beide Stores und schreibt n Parishes mit der gewünschten Form */
+    @Transactional()
+    public void seed(int n, DataShape dataShape) {
+        resetPostgres();
+        parishDocumentRepository.deleteAll();
+
+        copyParishesPostgres(n, dataShape);
+        seedMongo(n, dataShape);
+        em.clear();
+    }
+
+    @Transactional()
+    public WriteTestOutputDto runWritesForScale(int n, DataShape dataShape, MeasurementSettings settings) {
+        secondLevelCache(SecondLevelCacheMode.OFF);
+        LatencyStatsDto pgWrite = measure(settings, this::resetPostgres, () -> writeParishesPostgres(n, dataShape));
+        LatencyStatsDto pgCopy = measure(settings, this::resetPostgres, () -> copyParishesPostgres(n, dataShape));
+        LatencyStatsDto mongoWrite = measure(settings, parishDocumentRepository::deleteAll, () -> writeParishesMongo(n, dataShape));
 
         System.out.println("-- WRITE");
-        System.out.println("Postgres write time : " + pgWrite + " ms");
-        System.out.println("MongoDB  write time : " + mongoWrite + " ms");
+        print("Postgres write time", pgWrite);
+        print("Postgres COPY  time", pgCopy);
+        print("MongoDB  write time", mongoWrite);
 
-        return new WriteTestOutputDto(pgWrite, mongoWrite);
+        return new WriteTestOutputDto(pgWrite, mongoWrite, pgCopy);
     }
 
-    private ReadTestOutputDto runReadsForScale() {
-        int approxMaxEntries = Arrays.stream(SCALES).max().getAsInt();
-        Random r = new Random();
-        int maxFoundedYear = r.nextInt(approxMaxEntries);
-        int minFoundedYear = maxFoundedYear / 10;
+    @Transactional(readOnly = true)
+    public ReadTestOutputDto runReadsForScale(int n, MeasurementSettings settings, boolean rawPlans) {
+        secondLevelCache(SecondLevelCacheMode.OFF);
+        // Fenster über ein Fünftel der Jahrgänge, gleiche Parameter bei gleichem Seed
+        SplittableRandom r = syntheticDataGenerator.queryRandom();
+        int window = SyntheticDataGenerator.YEAR_SPREAD / 5;
+        int minFoundedYear = SyntheticDataGenerator.FIRST_YEAR + r.nextInt(SyntheticDataGenerator.YEAR_SPREAD - window);
+        int maxFoundedYear = minFoundedYear + window - 1;
 
         System.out.println("-- READ: find all");
-        long pgReadAll = measureMillis(this::readAllPostgres);
-        long mongoReadAll = measureMillis(this::readAllMongo);
-        System.out.println("Postgres readAll time : " + pgReadAll + " ms");
-        System.out.println("MongoDB  readAll time : " + mongoReadAll + " ms");
+        LatencyStatsDto pgReadAll = measure(settings, this::readAllPostgres);
+        LatencyStatsDto mongoReadAll = measure(settings, this::readAllMongo);
+        print("Postgres readAll time", pgReadAll);
+        print("MongoDB  readAll time", mongoReadAll);
+
+        System.out.println("-- READ: summaries (all rows, projected)");
+        LatencyStatsDto pgReadSummaries = measure(settings, this::readSummariesPostgres);
+        LatencyStatsDto mongoReadSummaries = measure(settings, this::readSummariesMongo);
+        print("Postgres readSummaries time", pgReadSummaries);
+        print("MongoDB  readSummaries time", mongoReadSummaries);
 
         System.out.println("-- READ: with filter (lastName)");
-        long pgReadFilter = measureMillis(() -> readFilteredPostgres(minFoundedYear, maxFoundedYear));
-        long mongoReadFilter = measureMillis(() -> readFilteredMongo(minFoundedYear, maxFoundedYear));
-        System.out.println("Postgres readFiltered time : " + pgReadFilter + " ms");
-        System.out.println("MongoDB  readFiltered time : " + mongoReadFilter + " ms");
+        LatencyStatsDto pgReadFilter = measure(settings, () -> readFilteredPostgres(minFoundedYear, maxFoundedYear));
+        LatencyStatsDto mongoReadFilter = measure(settings, () -> readFilteredMongo(minFoundedYear, maxFoundedYear));
+        print("Postgres readFiltered time", pgReadFilter);
+        print("MongoDB  readFiltered time", mongoReadFilter);
 
         System.out.println("-- READ: with filter + projection");
-        long pgReadProj = measureMillis(() -> readFilteredProjectedPostgres(minFoundedYear, maxFoundedYear));
-        long mongoReadProj = measureMillis(() -> readFilteredProjectedMongo(minFoundedYear, maxFoundedYear));
-        System.out.println("Postgres readFiltered+Proj time : " + pgReadProj + " ms");
-        System.out.println("MongoDB  readFiltered+Proj time : " + mongoReadProj + " ms");
+        LatencyStatsDto pgReadProj = measure(settings, () -> readFilteredProjectedPostgres(minFoundedYear, maxFoundedYear));
+        LatencyStatsDto mongoReadProj = measure(settings, () -> readFilteredProjectedMongo(minFoundedYear, maxFoundedYear));
+        print("Postgres readFiltered+Proj time", pgReadProj);
+        print("MongoDB  readFiltered+Proj time", mongoReadProj);
 
         System.out.println("-- READ: with filter + projection + sort");
-        long pgReadProjSort = measureMillis(() -> readFilteredProjectedSortedPostgres(minFoundedYear, maxFoundedYear));
-        long mongoReadProjSort = measureMillis(() -> readFilteredProjectedSortedMongo(minFoundedYear, maxFoundedYear));
-        System.out.println("Postgres readFiltered+Proj+Sort time : " + pgReadProjSort + " ms");
-        System.out.println("MongoDB  readFiltered+Proj+Sort time : " + mongoReadProjSort + " ms");
+        LatencyStatsDto pgReadProjSort = measure(settings, () -> readFilteredProjectedSortedPostgres(minFoundedYear, maxFoundedYear));
+        LatencyStatsDto mongoReadProjSort = measure(settings, () -> readFilteredProjectedSortedMongo(minFoundedYear, maxFoundedYear));
+        print("Postgres readFiltered+Proj+Sort time", pgReadProjSort);
+        print("MongoDB  readFiltered+Proj+Sort time", mongoReadProjSort);
 
         return new ReadTestOutputDto(
                 pgReadAll,
                 mongoReadAll,
+                pgReadSummaries,
+                mongoReadSummaries,
                 pgReadFilter,
                 mongoReadFilter,
                 pgReadProj,
                 mongoReadProj,
                 pgReadProjSort,
-                mongoReadProjSort
+                mongoReadProjSort,
+                explainReads(minFoundedYear, maxFoundedYear, rawPlans)
         );
     }
 
-    private UpdateTestOutputDto runUpdatesForScale() {
+    /** Jede Kombination schreibt n Dokumente in eine leere Collection */
+    public MongoWriteMatrixOutputDto runMongoWriteMatrix(int n, DataShape dataShape, List<MongoWriteOptions> strategies, MeasurementSettings settings) {
+        System.out.println("-- MONGO WRITE MATRIX, n = " + n);
+
+        List<MongoWriteStrategyResultDto> results = new ArrayList<>();
+
+        for (MongoWriteOptions options : strategies) {
+            LatencyStatsDto stats = measure(settings, parishDocumentRepository::deleteAll, () -> writeParishesMongo(n, dataShape, options));
+            print("MongoDB write (" + options + ")", stats);
+
+            results.add(new MongoWriteStrategyResultDto(options, n / (stats.meanMs() / 1000.0), stats));
+        }
+
+        MongoWriteOptions fastest = results.stream()
+                .max(Comparator.comparingDouble(MongoWriteStrategyResultDto::documentsPerSec))
+                .map(MongoWriteStrategyResultDto::options)
+                .orElse(null);
+
+        return new MongoWriteMatrixOutputDto(n, dataShape, fastest, results);
+    }
+
+    @Transactional()
+    public UpdateTestOutputDto runUpdatesForScale(MeasurementSettings settings) {
+        secondLevelCache(SecondLevelCacheMode.OFF);
         System.out.println("-- UPDATE (change firstName of some parishioners)");
-        long pgUpdate = measureMillis(this::updateAllPostgres);
-        long mongoUpdate = measureMillis(this::updateAllMongo);
-        System.out.println("Postgres update time : " + pgUpdate + " ms");
-        System.out.println("MongoDB  update time : " + mongoUpdate + " ms");
+        LatencyStatsDto pgUpdate = measure(settings, this::updateAllPostgres);
+        LatencyStatsDto mongoUpdate = measure(settings, this::updateAllMongo);
+        print("Postgres update time", pgUpdate);
+        print("MongoDB  update time", mongoUpdate);
 
         return new UpdateTestOutputDto(pgUpdate, mongoUpdate);
     }
 
-    private DeleteTestOutputDto runDeletesForScale() {
+    @Transactional()
+    public DeleteTestOutputDto runDeletesForScale(int n, DataShape dataShape, MeasurementSettings settings) {
+        secondLevelCache(SecondLevelCacheMode.OFF);
+        return runDeletes(n, n, dataShape, settings);
+    }
+
+    @Transactional(readOnly = true)
+    public AggregationTestOutputDto runAggregationsForScale(MeasurementSettings settings, AggregationMemoryOptions memoryOptions, boolean rawPlans) {
+        if (memoryOptions.workMem() != null) {
+            em.createNativeQuery("SELECT set_config('work_mem', ?1, true)").setParameter(1, memoryOptions.workMem()).getSingleResult();
+        }
+        AggregationOptions mongoOptions = memoryOptions.mongoOptions();
+
+        System.out.println("-- AGGREGATION: global average");
+        LatencyStatsDto pgAverage = measure(settings, parishRepository::averageFoundedYear);
+        LatencyStatsDto mongoAverage = measure(settings, () -> averageFoundedYearMongo(mongoOptions));
+        print("Postgres avg foundedYear", pgAverage);
+        print("Mongo avg foundedYear", mongoAverage);
+
+        System.out.println("-- AGGREGATION: parishes per foundedYear bucket");
+        LatencyStatsDto pgBuckets = measure(settings, parishRepository::countByFoundedYearBucket);
+        LatencyStatsDto mongoBuckets = measure(settings, () -> aggregateMongo(foundedYearBucketsAggregation(), mongoOptions));
+        print("Postgres GROUP BY bucket", pgBuckets);
+        print("Mongo $group bucket", mongoBuckets);
+
+        System.out.println("-- AGGREGATION: parishioner stats per parish");
+        LatencyStatsDto pgParishionerStats = measure(settings, parishRepository::parishionerStatsPerParish);
+        LatencyStatsDto mongoParishionerStatsUnwind = measure(settings, () -> aggregateMongo(parishionerStatsUnwindAggregation(), mongoOptions));
+        LatencyStatsDto mongoParishionerStatsArray = measure(settings, () -> aggregateMongo(parishionerStatsArrayAggregation(), mongoOptions));
+        print("Postgres JOIN GROUP BY", pgParishionerStats);
+        print("Mongo $unwind/$group", mongoParishionerStatsUnwind);
+        print("Mongo $size/array operators", mongoParishionerStatsArray);
+
+        System.out.println("-- AGGREGATION: priests shared by parishes");
+        LatencyStatsDto pgSharedPriests = measure(settings, () -> priestRepository.findSharedByAtLeast(SHARED_PRIEST_MIN_PARISHES));
+        LatencyStatsDto mongoSharedPriests = measure(settings, () -> aggregateMongo(sharedPriestsAggregation(), mongoOptions));
+        print("Postgres parish_priest GROUP BY", pgSharedPriests);
+        print("Mongo embedded $unwind/$group", mongoSharedPriests);
+
+        return new AggregationTestOutputDto(
+                memoryOptions,
+                pgAverage,
+                mongoAverage,
+                pgBuckets,
+                mongoBuckets,
+                pgParishionerStats,
+                mongoParishionerStatsUnwind,
+                mongoParishionerStatsArray,
+                pgSharedPriests,
+                mongoSharedPriests,
+                plans(
+                        rawPlans,
+                        queryPlanCollector.explainPostgres("averageFoundedYear", "SELECT AVG(founded_year) FROM parish"),
+                        queryPlanCollector.explainMongo("averageFoundedYear", averageFoundedYearAggregation(), memoryOptions.allowDiskUse()),
+                        queryPlanCollector.explainPostgres("countByFoundedYearBucket", PG_FOUNDED_YEAR_BUCKETS),
+                        queryPlanCollector.explainMongo("countByFoundedYearBucket", foundedYearBucketsAggregation(), memoryOptions.allowDiskUse()),
+                        queryPlanCollector.explainPostgres("parishionerStatsPerParish", PG_PARISHIONER_STATS),
+                        queryPlanCollector.explainMongo("parishionerStatsUnwind", parishionerStatsUnwindAggregation(), memoryOptions.allowDiskUse()),
+                        queryPlanCollector.explainMongo("parishionerStatsArray", parishionerStatsArrayAggregation(), memoryOptions.allowDiskUse()),
+                        queryPlanCollector.explainPostgres("findSharedByAtLeast", PG_SHARED_PRIESTS, SHARED_PRIEST_MIN_PARISHES),
+                        queryPlanCollector.explainMongo("sharedPriests", sharedPriestsAggregation(), memoryOptions.allowDiskUse())
+                )
+        );
+    }
+
+    // ===========================================================
+    // PRIVATE HILFSMETHODEN PRO KATEGORIE
+    // ===========================================================
+
+    private DeleteTestOutputDto runDeletes(int pgCount, int mongoCount, DataShape dataShape, MeasurementSettings settings) {
         System.out.println("-- DELETE ALL");
-        long pgDelete = measureMillis(parishRepository::deleteAll);
-        long mongoDelete = measureMillis(parishDocumentRepository::deleteAll);
-        System.out.println("Postgres deleteAll time : " + pgDelete + " ms");
-        System.out.println("MongoDB  deleteAll time : " + mongoDelete + " ms");
+        // jede Iteration braucht wieder gleich viele Daten zum Löschen
+        LatencyStatsDto pgDelete = measure(
+                settings,
+                () -> refillPostgres(pgCount, dataShape),
+                () -> {
+                    parishRepository.deleteAll();
+                    parishRepository.flush();
+                }
+        );
+        LatencyStatsDto mongoDelete = measure(
+                settings,
+                () -> refillMongo(mongoCount, dataShape),
+                parishDocumentRepository::deleteAll
+        );
+        print("Postgres deleteAll time", pgDelete);
+        print("MongoDB  deleteAll time", mongoDelete);
 
         return new DeleteTestOutputDto(pgDelete, mongoDelete);
     }
 
+    /** Definierter Ausgangszustand: leere Stores, n Parishes, frische Statistiken, Cache-Modus */
+    private void prepare(int n) {
+        prepare(n, DataShape.FLAT);
+    }
+
+    private void prepare(int n, DataShape dataShape) {
+        benchmarkStateManager.resetStores();
+        transactionTemplate.executeWithoutResult(status -> seed(n, dataShape));
+        benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
+    }
+
+    /** Alle anderen Benchmarks messen die Datenbank und umgehen den Second-Level-Cache (gilt für die aktuelle Session) */
+    private void secondLevelCache(SecondLevelCacheMode mode) {
+        em.unwrap(Session.class).setCacheMode(mode == SecondLevelCacheMode.OFF
+                ? org.hibernate.CacheMode.IGNORE
+                : org.hibernate.CacheMode.NORMAL);
+    }
+
+    private MeasurementSettings settings() {
+        return benchmarkProperties.cacheMode().adjust(benchmarkProperties.measurementSettings());
+    }
+
+    private int maxScale() {
+        return benchmarkProperties.scales().stream().mapToInt(Integer::intValue).max().orElse(1);
+    }
+
     // ===========================================================
     // GENERISCHES TIMING
     // ===========================================================
 
-    private long measureMillis(Runnable action) {
-        em.clear();
-        long start = System.nanoTime();
-        action.run();
-        long end = System.nanoTime();
-        return (end - start) / 1_000_000; // ns → ms
+    private LatencyStatsDto measure(Runnable action) {
+        return measure(settings(), action);
+    }
+
+    private LatencyStatsDto measure(MeasurementSettings settings, Runnable action) {
+        return measure(settings, () -> {}, action);
+    }
+
+    private LatencyStatsDto measure(MeasurementSettings settings, Runnable reset, Runnable action) {
+        return measurementEngine.measure(settings, () -> {
+            reset.run();
+            em.clear();
+        }, action);
+    }
+
+    private void print(String label, LatencyStatsDto stats) {
+        System.out.printf(Locale.ROOT, "%s : p50 %.3f ms, p99 %.3f ms, mean %.3f ms (95%% CI %.3f-%.3f ms, n=%d)%n",
+                label, stats.p50Ms(), stats.p99Ms(), stats.meanMs(), stats.ci95LowerMs(), stats.ci95UpperMs(), stats.samples());
     }
 
     // ===========================================================  /**
@@ -257,43 +675,101 @@ public class BenchmarkRunner {
     // WRITE-OPERATIONEN
     // ===========================================================
 
-    private void writeParishesPostgres(int n) {
-        List<Parish> parish = new ArrayList<>();
+    /** Chunkweise schreiben und danach den Persistence Context leeren, damit der Speicher konstant bleibt */
+    private void writeParishesPostgres(int n, DataShape dataShape) {
+        syntheticDataGenerator.chunks(n, dataShape).forEach(chunk -> {
+            List<Parish> parishes = chunk.stream().map(SyntheticDataGenerator::toEntity).toList();
+            List<Priest> priests = parishes.stream().flatMap(p -> p.getPriests().stream()).toList();
+
+            priestRepository.saveAll(priests);
+            parishRepository.saveAll(parishes);
+            parishRepository.flush();
+            em.clear();
+        });
+    }
 
-        for (int i = 0; i < n; i++) {
-            int year = 1970 + i;
+    /** Gleiche Daten wie writeParishesPostgres, aber per COPY statt JPA-Batching */
+    private void copyParishesPostgres(int n, DataShape dataShape) {
+        syntheticDataGenerator.chunks(n, dataShape).forEach(chunk ->
+                parishBulkLoadService.copyParishes(chunk.stream().map(SyntheticDataGenerator::toEntity).toList())
+        );
+    }
 
-            Parish p = Parish.builder()
-                    .name("PG_Name_" + i)
-                    .location("PG_Location_" + i)
-                    .foundedYear(year)
-                    .build();
+    private void writeParishesMongo(int n, DataShape dataShape) {
+        writeParishesMongo(n, dataShape, benchmarkProperties.mongoWrite());
+    }
 
-            parish.add(p);
+    private void writeParishesMongo(int n, DataShape dataShape, MongoWriteOptions options) {
+        parishDocumentBulkWriter.insert(parishDocuments(n, dataShape), options);
+
+        // w:0 kommt sofort zurück – gemessen wird erst, wenn alle Dokumente tatsächlich da sind
+        if (options.writeConcern() == WriteConcernLevel.W0) {
+            awaitUnacknowledgedInserts(n);
         }
+    }
 
-        parishRepository.saveAll(parish);
-        parishRepository.flush();
+    /**
+     * Wartet zwischen den count-Kommandos kurz, damit sie die Messung nicht selbst belasten. Die Pause liegt
+     * im gemessenen Bereich und ist deshalb deutlich kürzer als ein einzelner Chunk-Insert.
+     * Verworfene w:0-Inserts (z.B. doppelte _id) meldet niemand – wächst der Count zu lange nicht, wird abgebrochen.
+     */
+    private void awaitUnacknowledgedInserts(int n) {
+        long count = 0;
+        long deadline = System.nanoTime() + W0_STALL_TIMEOUT.toNanos();
+
+        while (true) {
+            long current = mongoTemplate.estimatedCount(ParishDocument.class);
+            if (current >= n) {
+                return;
+            }
+            if (current > count) {
+                count = current;
+                deadline = System.nanoTime() + W0_STALL_TIMEOUT.toNanos();
+            } else if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Only " + count + " of " + n + " unacknowledged inserts arrived within " + W0_STALL_TIMEOUT.toSeconds() + "s");
+            }
+
+            LockSupport.parkNanos(W0_POLL_INTERVAL.toNanos());
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for unacknowledged inserts");
+            }
+        }
     }
 
-    private void writeParishesMongo(int n) {
-        List<ParishDocument> parishDocuments = new ArrayList<>();
+    /** Nicht gemessen, daher unordered und parallel über alle Kerne */
+    private void seedMongo(int n, DataShape dataShape) {
+        MongoWriteOptions options = new MongoWriteOptions(
+                false,
+                benchmarkProperties.chunkSize(),
+                WriteConcernLevel.W1,
+                Runtime.getRuntime().availableProcessors()
+        );
+        parishDocumentBulkWriter.insert(parishDocuments(n, dataShape), options);
+    }
 
-        for (int i = 0; i < n; i++) {
-            int year = 1970 + (i % 50);
+    private Stream<ParishDocument> parishDocuments(int n, DataShape dataShape) {
+        return syntheticDataGenerator.chunks(n, dataShape)
+                .flatMap(List::stream)
+                .map(SyntheticDataGenerator::toDocument);
+    }
 
-            ParishDocument parishDoc = ParishDocument.builder()
-                    .id(new ObjectId())
-                    .name("MG_Name_" + i)
-                    .location("MG_Location_" + i)
-                    .foundedYear(year)
-                    .foundedYearIndexed(year)
-                    .build();
+    /** TRUNCATE statt deleteAllInBatch, damit auch Priests, Parishioners und die Join-Tabelle leer sind */
+    private void resetPostgres() {
+        em.createNativeQuery("TRUNCATE TABLE parish_priest, parishioner, priest, parish").executeUpdate();
+    }
 
-            parishDocuments.add(parishDoc);
+    private void refillPostgres(int n, DataShape dataShape) {
+        if (parishRepository.count() == 0) {
+            resetPostgres();
+            copyParishesPostgres(n, dataShape);
         }
+    }
 
-        parishDocumentRepository.insert(parishDocuments);
+    private void refillMongo(int n, DataShape dataShape) {
+        if (parishDocumentRepository.count() == 0) {
+            seedMongo(n, dataShape);
+        }
     }
 
     // ===========================================================
@@ -308,6 +784,14 @@ public class BenchmarkRunner {
         return parishDocumentRepository.findAll();
     }
 
+    private List<ParishSummaryDto> readSummariesPostgres() {
+        return parishRepository.findAllSummaries();
+    }
+
+    private List<ParishDocumentSummaryDto> readSummariesMongo() {
+        return parishDocumentRepository.findAllSummaries();
+    }
+
     private List<Parish> readFilteredPostgres(int minFoundedYear, int maxFoundedYear) {
         return parishRepository.findAllByFoundedYearBetween(minFoundedYear, maxFoundedYear);
     }
@@ -342,7 +826,7 @@ public class BenchmarkRunner {
 
     private void updateAllMongo() {
         Query query = new Query();
-        Update update = new Update().set("name", "UPDATED");
+        Update update = new Update().set("name", "UPDATED").inc("version", 1);
 
         UpdateResult result = mongoTemplate.updateMulti(query, update, ParishDocument.class);
     }
@@ -359,19 +843,327 @@ public class BenchmarkRunner {
         parishDocumentRepository.findByFoundedYearIndexed(foundedYear);
     }
 
+    // ===========================================================
+    // POSTGRES INDEX
+    // ===========================================================
+
+    private PostgresIndexVariantResultDto runPostgresIndexVariant(PostgresIndexVariant variant, int year, int minFoundedYear, int maxFoundedYear, boolean rawPlans) {
+        MeasurementSettings settings = settings();
+        LatencyStatsDto build = null;
+        Long size = null;
+
+        executeDdl(DROP_BENCHMARK_INDEX);
+        if (variant.createSql() != null) {
+            // jede Iteration baut den Index auf derselben Tabelle neu auf
+            build = transactionTemplate.execute(status -> measure(
+                    settings,
+                    () -> em.createNativeQuery(DROP_BENCHMARK_INDEX).executeUpdate(),
+                    () -> em.createNativeQuery(variant.createSql()).executeUpdate()
+            ));
+            size = transactionTemplate.execute(status -> ((Number) em
+                    .createNativeQuery("SELECT pg_relation_size('" + PostgresIndexVariant.INDEX_NAME + "')")
+                    .getSingleResult()).longValue());
+            print("Postgres index build time", build);
+            System.out.println("Postgres index size : " + size + " bytes");
+        }
+
+        // VACUUM ANALYZE: Planner kennt den neuen Index, Visibility Map erlaubt Index-Only-Scans
+        benchmarkStateManager.beforePhase(benchmarkProperties.cacheMode());
+
+        LatencyStatsDto finalBuild = build;
+        Long finalSize = size;
+        return transactionTemplate.execute(status -> {
+            secondLevelCache(SecondLevelCacheMode.OFF);
+            LatencyStatsDto range = measure(settings, () -> readFilteredPostgres(minFoundedYear, maxFoundedYear));
+            LatencyStatsDto equality = measure(settings, () -> parishRepository.findAllByFoundedYear(year));
+            LatencyStatsDto rangeProjected = measure(settings, () -> parishRepository.findAllProjectedByFoundedYearBetween(minFoundedYear, maxFoundedYear));
+
+            print("Postgres range time", range);
+            print("Postgres equality time", equality);
+            print("Postgres range+Proj time", rangeProjected);
+
+            return new PostgresIndexVariantResultDto(variant, finalBuild, finalSize, range, equality, rangeProjected, plans(
+                    rawPlans,
+                    queryPlanCollector.explainPostgres("findAllByFoundedYearBetween", PG_FOUNDED_YEAR_BETWEEN, minFoundedYear, maxFoundedYear),
+                    queryPlanCollector.explainPostgres("findAllByFoundedYear", PG_FOUNDED_YEAR_EQUALS, year),
+                    queryPlanCollector.explainPostgres("findAllProjectedByFoundedYearBetween", PG_SUMMARIES_FOUNDED_YEAR_BETWEEN, minFoundedYear, maxFoundedYear)
+            ));
+        });
+    }
+
+    private Double foundedYearCorrelation() {
+        List<?> rows = em.createNativeQuery("SELECT correlation FROM pg_stats WHERE tablename = 'parish' AND attname = 'founded_year'")
+                .getResultList();
+        return rows.isEmpty() || rows.getFirst() == null ? null : ((Number) rows.getFirst()).doubleValue();
+    }
+
+    private void executeDdl(String sql) {
+        transactionTemplate.executeWithoutResult(status -> em.createNativeQuery(sql).executeUpdate());
+    }
+
+    // ===========================================================
+    // EMBEDDED UPDATES – die gezielten Updates entsprechen denen im ParishDocumentService
+    // ===========================================================
+
+    private EmbeddedUpdateResultDto runEmbeddedUpdates(int arraySize, MeasurementSettings settings) {
+        ParishDocument document = SyntheticDataGenerator.toDocument(syntheticDataGenerator.parish(arraySize, DataShape.FLAT));
+        document.setParishioners(IntStream.range(0, arraySize)
+                .mapToObj(i -> embeddedParishioner(new ObjectId(), "Parishioner " + i))
+                .toList());
+        ObjectId parishId = parishDocumentRepository.insert(document).getId();
+        ObjectId targetId = document.getParishioners().get(arraySize / 2).getId();
+
+        ObjectId extraId = new ObjectId();
+        Runnable pushExtra = () -> mongoTemplate.updateFirst(byId(parishId), new Update().push("parishioners", embeddedParishioner(extraId, EXTRA_PARISHIONER)), ParishDocument.class);
+        Runnable pullExtra = () -> mongoTemplate.updateFirst(byId(parishId), new Update().pull("parishioners", new Document("lastName", EXTRA_PARISHIONER)), ParishDocument.class);
+
+        // jede Iteration schreibt einen neuen Wert, sonst erkennt Mongo ein No-Op-Update
+        AtomicInteger revision = new AtomicInteger();
+
+        LatencyStatsDto saveUpdate = measure(settings, () -> {
+            ParishDocument parish = parishDocumentRepository.findById(parishId).orElseThrow();
+            parish.getParishioners().stream()
+                    .filter(p -> p.getId().equals(targetId))
+                    .forEach(p -> p.setFirstName("Updated " + revision.incrementAndGet()));
+            parishDocumentRepository.save(parish);
+        });
+        LatencyStatsDto positionalUpdate = measure(settings, () -> mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(parishId).and("parishioners._id").is(targetId)),
+                new Update()
+                        .set("parishioners.$[p].firstName", "Updated " + revision.incrementAndGet())
+                        .filterArray(Criteria.where("p._id").is(targetId)),
+                ParishDocument.class
+        ));
+
+        LatencyStatsDto saveAdd = measure(settings, pullExtra, () -> {
+            ParishDocument parish = parishDocumentRepository.findById(parishId).orElseThrow();
+            parish.getParishioners().add(embeddedParishioner(extraId, EXTRA_PARISHIONER));
+            parishDocumentRepository.save(parish);
+        });
+        LatencyStatsDto push = measure(settings, pullExtra, pushExtra);
+
+        LatencyStatsDto saveRemove = measure(settings, pushExtra, () -> {
+            ParishDocument parish = parishDocumentRepository.findById(parishId).orElseThrow();
+            parish.getParishioners().removeIf(p -> p.getId().equals(extraId));
+            parishDocumentRepository.save(parish);
+        });
+        LatencyStatsDto pull = measure(settings, pushExtra, () -> mongoTemplate.updateFirst(
+                byId(parishId),
+                new Update().pull("parishioners", new Document("_id", extraId)),
+                ParishDocument.class
+        ));
+
+        print("MongoDB save update time", saveUpdate);
+        print("MongoDB $[p] update time", positionalUpdate);
+        print("MongoDB save add time", saveAdd);
+        print("MongoDB $push time", push);
+        print("MongoDB save remove time", saveRemove);
+        print("MongoDB $pull time", pull);
+
+        return new EmbeddedUpdateResultDto(arraySize, documentSizeBytes(parishId), saveUpdate, positionalUpdate, saveAdd, push, saveRemove, pull);
+    }
+
+    private static ParishionerEmbedded embeddedParishioner(ObjectId id, String lastName) {
+        return ParishionerEmbedded.builder()
+                .id(id)
+                .firstName("Benchmark")
+                .lastName(lastName)
+                .birthDate(LocalDate.of(1980, 1, 1))
+                .build();
+    }
+
+    private static Query byId(ObjectId id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private long documentSizeBytes(ObjectId id) {
+        Document size = mongoTemplate.aggregate(
+                Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("_id").is(id)),
+                        Aggregation.stage(new Document("$project", new Document("size", new Document("$bsonSize", "$$ROOT"))))
+                ),
+                mongoTemplate.getCollectionName(ParishDocument.class),
+                Document.class
+        ).getUniqueMappedResult();
+
+        return size == null ? 0 : size.get("size", Number.class).longValue();
+    }
+
+    // ===========================================================
+    // SECOND LEVEL CACHE
+    // ===========================================================
+
+    private SecondLevelCacheModeResultDto runSecondLevelCacheMode(
+            SecondLevelCacheMode mode,
+            List<Parish.ParishId> parishIds,
+            List<Priest.PriestId> priestIds,
+            int minFoundedYear,
+            int maxFoundedYear
+    ) {
+        secondLevelCache(mode);
+
+        MeasurementSettings settings = settings();
+        Runnable reset = () -> {};
+        if (mode == SecondLevelCacheMode.COLD) {
+            settings = CacheMode.COLD.adjust(settings);
+            reset = benchmarkStateManager::evictSecondLevelCache;
+        } else if (mode == SecondLevelCacheMode.WARM) {
+            // mindestens eine Iteration füllt den Cache, bevor gemessen wird
+            settings = new MeasurementSettings(Math.max(1, settings.warmupIterations()), settings.measuredIterations());
+        }
+
+        LatencyStatsDto parishById = measure(settings, reset, () -> parishIds.forEach(id -> parishRepository.findById(id).map(ParishDto::new)));
+        LatencyStatsDto priestById = measure(settings, reset, () -> priestIds.forEach(id -> priestRepository.findById(id).map(PriestDto::new)));
+        LatencyStatsDto cacheableRange = measure(settings, reset, () -> parishRepository.findCacheableByFoundedYearBetween(minFoundedYear, maxFoundedYear));
+
+        print("Postgres parish by id + DTO time", parishById);
+        print("Postgres priest by id + DTO time", priestById);
+        print("Postgres cacheable range time", cacheableRange);
+
+        return new SecondLevelCacheModeResultDto(mode, parishById, priestById, cacheableRange);
+    }
+
     // ===========================================================
     // AGGREGATION
     // ===========================================================
 
     public Double averageFoundedYearMongo() {
-        TypedAggregation<ParishDocument> agg = Aggregation.newAggregation(
+        return averageFoundedYearMongo(AggregationMemoryOptions.DEFAULT.mongoOptions());
+    }
+
+    public Double averageFoundedYearMongo(AggregationOptions options) {
+        TypedAggregation<ParishDocument> agg = averageFoundedYearAggregation().withOptions(options);
+
+        AggregationResults<BasicDBObject> result = mongoTemplate.aggregate(agg, ParishDocument.class, BasicDBObject.class);
+        return result.getMappedResults().isEmpty() ? null :
+                (Double) result.getMappedResults().getFirst().get("averageFoundedYear");
+    }
+
+    private TypedAggregation<ParishDocument> averageFoundedYearAggregation() {
+        return Aggregation.newAggregation(
                 ParishDocument.class,
                 Aggregation.group()        // no field to group by → global aggregation
                         .avg("foundedYear").as("averageFoundedYear")
         );
+    }
 
-        AggregationResults<BasicDBObject> result = mongoTemplate.aggregate(agg, ParishDocument.class, BasicDBObject.class);
-        return result.getMappedResults().isEmpty() ? null :
-                (Double) result.getMappedResults().getFirst().get("averageFoundedYear");
+    // Die Berichte verwenden die gespeicherten Feldnamen, damit explain (ohne Mapping-Kontext) dieselbe Pipeline sieht
+    private List<Document> aggregateMongo(Aggregation aggregation, AggregationOptions options) {
+        return mongoTemplate.aggregate(aggregation.withOptions(options), mongoTemplate.getCollectionName(ParishDocument.class), Document.class)
+                .getMappedResults();
+    }
+
+    private static Aggregation foundedYearBucketsAggregation() {
+        return Aggregation.newAggregation(
+                Aggregation.project()
+                        .and(ArithmeticOperators.Subtract.valueOf("foundedYear")
+                                .subtract(ArithmeticOperators.Mod.valueOf("foundedYear").mod(FOUNDED_YEAR_BUCKET)))
+                        .as("bucketStart"),
+                Aggregation.group("bucketStart").count().as("parishCount"),
+                Aggregation.sort(Sort.Direction.ASC, "_id")
+        );
+    }
+
+    /** Gegenstück zu JOIN ... GROUP BY: ein Dokument pro Parishioner, danach wieder pro Parish gruppiert */
+    private static Aggregation parishionerStatsUnwindAggregation() {
+        return Aggregation.newAggregation(
+                Aggregation.unwind("parishioners"),
+                Aggregation.project("_id").and(DateOperators.Year.yearOf("parishioners.birthDate")).as("birthYear"),
+                Aggregation.group("_id")
+                        .count().as("parishionerCount")
+                        .avg("birthYear").as("averageBirthYear")
+                        .min("birthYear").as("minBirthYear")
+                        .max("birthYear").as("maxBirthYear")
+        );
+    }
+
+    /** Gleiches Ergebnis ohne $unwind: Array-Operatoren direkt auf dem eingebetteten Array */
+    private static Aggregation parishionerStatsArrayAggregation() {
+        Document birthYears = new Document("$map", new Document("input", "$parishioners.birthDate").append("in", new Document("$year", "$$this")));
+
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("parishioners.0").exists(true)),
+                Aggregation.stage(new Document("$project", new Document("parishionerCount", new Document("$size", "$parishioners"))
+                        .append("averageBirthYear", new Document("$avg", birthYears))
+                        .append("minBirthYear", new Document("$min", birthYears))
+                        .append("maxBirthYear", new Document("$max", birthYears))))
+        );
+    }
+
+    /** Eingebettete Kopien desselben Priests tragen dieselbe id */
+    private static Aggregation sharedPriestsAggregation() {
+        return Aggregation.newAggregation(
+                Aggregation.unwind("priests"),
+                Aggregation.group("priests._id").count().as("parishCount"),
+                Aggregation.match(Criteria.where("parishCount").gte(SHARED_PRIEST_MIN_PARISHES)),
+                Aggregation.sort(Sort.Direction.DESC, "parishCount")
+        );
+    }
+
+    /**
+     * Pfarrverbände: alle Parishes mit gleichem Ort und Gründungsjahr teilen sich den ersten Priest der
+     * (nach Name) ersten Parish der Gruppe. Beide Stores sortieren binär, die Gruppen sind daher identisch.
+     */
+    private void formParishAssociations() {
+        em.createNativeQuery(PG_FORM_PARISH_ASSOCIATIONS).executeUpdate();
+
+        Query leaders = Query.query(Criteria.where("priests.0").exists(true))
+                .with(Sort.by("location", "foundedYear", "name"));
+        leaders.fields().include("location", "foundedYear").slice("priests", 1);
+
+        String location = null;
+        Integer foundedYear = null;
+        try (Stream<ParishDocument> parishes = mongoTemplate.stream(leaders, ParishDocument.class)) {
+            for (Iterator<ParishDocument> iterator = parishes.iterator(); iterator.hasNext(); ) {
+                ParishDocument parish = iterator.next();
+                if (parish.getLocation().equals(location) && parish.getFoundedYear().equals(foundedYear)) {
+                    continue;
+                }
+                location = parish.getLocation();
+                foundedYear = parish.getFoundedYear();
+
+                mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("location").is(location).and("foundedYear").is(foundedYear).and("_id").ne(parish.getId())),
+                        new Update().push("priests", parish.getPriests().getFirst()).inc("version", 1),
+                        ParishDocument.class
+                );
+            }
+        }
+    }
+
+    // ===========================================================
+    // QUERY-PLÄNE – die gemessenen Abfragen als SQL bzw. Mongo-Query nachgebildet
+    // ===========================================================
+
+    private List<QueryPlanDto> explainReads(int minFoundedYear, int maxFoundedYear, boolean rawPlans) {
+        return plans(
+                rawPlans,
+                queryPlanCollector.explainPostgres("findAll", "SELECT * FROM parish"),
+                queryPlanCollector.explainMongo("findAll", new Query()),
+                queryPlanCollector.explainPostgres("findAllSummaries", PG_SUMMARIES),
+                queryPlanCollector.explainMongo("findAllSummaries", mongoProjected(new Query())),
+                queryPlanCollector.explainPostgres("findAllByFoundedYearBetween", PG_FOUNDED_YEAR_BETWEEN, minFoundedYear, maxFoundedYear),
+                queryPlanCollector.explainMongo("findAllByFoundedYearBetween", mongoFoundedYearBetween(minFoundedYear, maxFoundedYear)),
+                queryPlanCollector.explainPostgres("findAllProjectedByFoundedYearBetween", PG_SUMMARIES_FOUNDED_YEAR_BETWEEN, minFoundedYear, maxFoundedYear),
+                queryPlanCollector.explainMongo("findAllProjectedByFoundedYearBetween", mongoProjected(mongoFoundedYearBetween(minFoundedYear, maxFoundedYear))),
+                queryPlanCollector.explainPostgres("findAllProjectedByFoundedYearBetweenOrderByFoundedYearDesc", PG_SUMMARIES_FOUNDED_YEAR_BETWEEN_DESC, minFoundedYear, maxFoundedYear),
+                queryPlanCollector.explainMongo("findAllProjectedByFoundedYearBetweenOrderByFoundedYearDesc",
+                        mongoProjected(mongoFoundedYearBetween(minFoundedYear, maxFoundedYear)).with(Sort.by(Sort.Direction.DESC, "foundedYear")))
+        );
+    }
+
+    /** Inklusiv wie die Queries im ParishDocumentRepository und BETWEEN in Postgres */
+    private static Query mongoFoundedYearBetween(int minFoundedYear, int maxFoundedYear) {
+        return Query.query(Criteria.where("foundedYear").gte(minFoundedYear).lte(maxFoundedYear));
+    }
+
+    /** Gleiche Felder wie die @Query-Projektionen im ParishDocumentRepository */
+    private static Query mongoProjected(Query query) {
+        query.fields().include("name", "location", "foundedYear");
+        return query;
+    }
+
+    private static List<QueryPlanDto> plans(boolean rawPlans, QueryPlanDto... plans) {
+        return Arrays.stream(plans).map(plan -> rawPlans ? plan : plan.withoutRawPlan()).toList();
     }
 }
@@ -0,0 +1,24 @@
+package at.spengergasse.ehif_dbi.benchmark;
+
+/**
+ * Index-Varianten auf parish.founded_year für den Postgres-Index-Benchmark.
+ * COVERING enthält zusätzlich id, damit die Summary-Projektion als Index-Only-Scan laufen kann.
+ */
+public enum PostgresIndexVariant {
+    NONE(null),
+    BTREE("CREATE INDEX " + PostgresIndexVariant.INDEX_NAME + " ON parish USING btree (founded_year)"),
+    BRIN("CREATE INDEX " + PostgresIndexVariant.INDEX_NAME + " ON parish USING brin (founded_year)"),
+    COVERING("CREATE INDEX " + PostgresIndexVariant.INDEX_NAME + " ON parish USING btree (founded_year) INCLUDE (id, name, location)");
+
+    public static final String INDEX_NAME = "ix_benchmark_parish_founded_year";
+
+    private final String createSql;
+
+    PostgresIndexVariant(String createSql) {
+        this.createSql = createSql;
+    }
+
+    public String createSql() {
+        return createSql;
+    }
+}
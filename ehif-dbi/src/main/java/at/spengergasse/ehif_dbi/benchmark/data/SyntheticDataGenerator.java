@@ -0,0 +1,215 @@
+package at.spengergasse.ehif_dbi.benchmark.data;
+
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProperties;
+import at.spengergasse.ehif_dbi.benchmark.workload.DataShape;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishionerEmbedded;
+import at.spengergasse.ehif_dbi.domain.mongo.PriestEmbedded;
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
+import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministischer Testdaten-Generator. Jede Parish wird nur aus {@code benchmark.seed}
+ * und ihrem Index erzeugt – unabhängig von Chunk-Größe, Reihenfolge und Parallelität.
+ * Dadurch sind beide Stores und wiederholte Läufe mit gleichem Seed identisch befüllt.
+ */
+@Component
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    public static final int FIRST_YEAR = 1970;
+    public static final int YEAR_SPREAD = 50;
+
+    private static final int OBJECT_ID_TIMESTAMP = 1_600_000_000;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] SAINTS = {
+            "St. Stephan", "St. Peter", "St. Michael", "St. Martin", "St. Florian", "St. Leopold", "St. Josef",
+            "St. Nikolaus", "St. Georg", "St. Jakob", "St. Ulrich", "St. Anna", "Maria Himmelfahrt", "Hl. Familie"
+    };
+    private static final String[] LOCATIONS = {
+            "Wien", "Graz", "Linz", "Salzburg", "Innsbruck", "Klagenfurt", "Villach", "Wels", "St. Pölten", "Dornbirn",
+            "Wiener Neustadt", "Steyr", "Feldkirch", "Bregenz", "Leonding", "Klosterneuburg", "Baden", "Leoben",
+            "Krems", "Traun", "Amstetten", "Lustenau", "Kapfenberg", "Mödling", "Hallein", "Kufstein", "Traiskirchen",
+            "Schwechat", "Braunau", "Stockerau", "Saalfelden", "Ansfelden", "Tulln", "Hohenems", "Spittal", "Telfs"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Maria", "Johann", "Anna", "Josef", "Elisabeth", "Franz", "Theresia", "Karl", "Katharina", "Michael",
+            "Barbara", "Thomas", "Christine", "Stefan", "Monika", "Andreas", "Sabine", "Markus", "Julia", "Lukas"
+    };
+    private static final String[] LAST_NAMES = {
+            "Gruber", "Huber", "Bauer", "Wagner", "Müller", "Pichler", "Steiner", "Moser", "Mayer", "Hofer",
+            "Leitner", "Berger", "Fuchs", "Eder", "Fischer", "Schmid", "Winkler", "Weber", "Schwarz", "Maier"
+    };
+
+    // Wenige große Städte, viele kleine Orte; Namen ähnlich schief verteilt
+    private static final ZipfDistribution LOCATION_DISTRIBUTION = new ZipfDistribution(LOCATIONS.length, 1.1);
+    private static final ZipfDistribution FIRST_NAME_DISTRIBUTION = new ZipfDistribution(FIRST_NAMES.length, 0.8);
+    private static final ZipfDistribution LAST_NAME_DISTRIBUTION = new ZipfDistribution(LAST_NAMES.length, 0.8);
+
+    private static final LocalDate FIRST_ORDINATION = LocalDate.of(1960, 1, 1);
+    private static final LocalDate FIRST_BIRTH = LocalDate.of(1930, 1, 1);
+
+    private final BenchmarkProperties benchmarkProperties;
+
+    // ============================================================
+    // STREAMING
+    // ============================================================
+
+    /**
+     * Liefert n Parishes in Chunks von {@code benchmark.chunk-size}. Der Stream ist lazy,
+     * es liegt also immer nur ein Chunk pro verarbeitendem Thread im Speicher.
+     * Mit {@code .parallel()} werden Chunks auf mehreren Kernen erzeugt.
+     */
+    public Stream<List<SyntheticParish>> chunks(int n, DataShape dataShape) {
+        int chunkSize = benchmarkProperties.chunkSize();
+        int chunkCount = (n + chunkSize - 1) / chunkSize;
+
+        return IntStream.range(0, chunkCount).mapToObj(chunk -> {
+            int from = chunk * chunkSize;
+            int to = Math.min(n, from + chunkSize);
+
+            List<SyntheticParish> parishes = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                parishes.add(parish(i, dataShape));
+            }
+            return parishes;
+        });
+    }
+
+    public SyntheticParish parish(int index, DataShape dataShape) {
+        SplittableRandom random = new SplittableRandom(mix(benchmarkProperties.seed() + index * GOLDEN_GAMMA));
+
+        ObjectId mongoId = objectId(random);
+        String location = LOCATIONS[LOCATION_DISTRIBUTION.sample(random)];
+        String name = "Pfarre " + SAINTS[random.nextInt(SAINTS.length)] + " " + location + " " + index;
+
+        // quadratisch: ältere Jahrgänge kommen deutlich häufiger vor als neuere
+        double u = random.nextDouble();
+        int foundedYear = FIRST_YEAR + (int) (YEAR_SPREAD * u * u);
+
+        List<SyntheticPerson> priests = people(random, skewedCount(random, dataShape.priestsPerParish()), FIRST_ORDINATION, 60);
+        List<SyntheticPerson> parishioners = people(random, skewedCount(random, dataShape.parishionersPerParish()), FIRST_BIRTH, 85);
+
+        return new SyntheticParish(index, mongoId, name, location, foundedYear, priests, parishioners);
+    }
+
+    /** Eigener Zufallsstrom für Abfrageparameter, damit auch die Reads reproduzierbar sind. */
+    public SplittableRandom queryRandom() {
+        return new SplittableRandom(mix(benchmarkProperties.seed() ^ 0x5DEECE66DL));
+    }
+
+    // ============================================================
+    // MAPPING AUF DIE STORES
+    // ============================================================
+
+    public static Parish toEntity(SyntheticParish source) {
+        Parish parish = Parish.builder()
+                .name(source.name())
+                .location(source.location())
+                .foundedYear(source.foundedYear())
+                .build();
+
+        for (SyntheticPerson person : source.priests()) {
+            parish.getPriests().add(Priest.builder()
+                    .firstName(person.firstName())
+                    .lastName(person.lastName())
+                    .ordinationDate(person.date())
+                    .build());
+        }
+
+        for (SyntheticPerson person : source.parishioners()) {
+            parish.getParishioners().add(Parishioner.builder()
+                    .firstName(person.firstName())
+                    .lastName(person.lastName())
+                    .birthDate(person.date())
+                    .parish(parish)
+                    .build());
+        }
+
+        return parish;
+    }
+
+    public static ParishDocument toDocument(SyntheticParish source) {
+        ParishDocument document = ParishDocument.builder()
+                .id(source.mongoId())
+                .name(source.name())
+                .location(source.location())
+                .foundedYear(source.foundedYear())
+                .foundedYearIndexed(source.foundedYear())
+                // insertMany umgeht das Versions-Handling von Spring Data, ohne Version wäre ein späteres save() ein Insert
+                .version(0L)
+                .build();
+
+        for (SyntheticPerson person : source.priests()) {
+            document.getPriests().add(PriestEmbedded.builder()
+                    .id(person.mongoId())
+                    .firstName(person.firstName())
+                    .lastName(person.lastName())
+                    .ordinationDate(person.date())
+                    .build());
+        }
+
+        for (SyntheticPerson person : source.parishioners()) {
+            document.getParishioners().add(ParishionerEmbedded.builder()
+                    .id(person.mongoId())
+                    .firstName(person.firstName())
+                    .lastName(person.lastName())
+                    .birthDate(person.date())
+                    .build());
+        }
+
+        return document;
+    }
+
+    // ============================================================
+    // HILFSMETHODEN
+    // ============================================================
+
+    private static List<SyntheticPerson> people(SplittableRandom random, int count, LocalDate firstDate, int yearSpan) {
+        List<SyntheticPerson> people = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            people.add(new SyntheticPerson(
+                    objectId(random),
+                    FIRST_NAMES[FIRST_NAME_DISTRIBUTION.sample(random)],
+                    LAST_NAMES[LAST_NAME_DISTRIBUTION.sample(random)],
+                    firstDate.plusDays(random.nextInt(yearSpan * 365))
+            ));
+        }
+
+        return people;
+    }
+
+    /** Exponentialverteilt mit Mittelwert {@code mean}, gedeckelt bei 10 * mean: viele kleine, wenige sehr große Pfarren. */
+    private static int skewedCount(SplittableRandom random, int mean) {
+        if (mean == 0) {
+            return 0;
+        }
+        long count = Math.round(-mean * Math.log(1 - random.nextDouble()));
+        return (int) Math.min(count, 10L * mean);
+    }
+
+    private static ObjectId objectId(SplittableRandom random) {
+        return new ObjectId(ByteBuffer.allocate(12).putInt(OBJECT_ID_TIMESTAMP).putLong(random.nextLong()).array());
+    }
+
+    // SplitMix64-Finalizer, damit benachbarte Indizes unkorrelierte Seeds bekommen
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
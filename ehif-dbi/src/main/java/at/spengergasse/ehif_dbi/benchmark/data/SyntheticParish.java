@@ -0,0 +1,17 @@
+package at.spengergasse.ehif_dbi.benchmark.data;
+
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+/** Store-unabhängige Parish; Postgres und Mongo bekommen dieselben logischen Daten. */
+public record SyntheticParish(
+        int index,
+        ObjectId mongoId,
+        String name,
+        String location,
+        int foundedYear,
+        List<SyntheticPerson> priests,
+        List<SyntheticPerson> parishioners
+) {
+}
@@ -0,0 +1,14 @@
+package at.spengergasse.ehif_dbi.benchmark.data;
+
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+
+/** Priest oder Parishioner; {@code date} ist Weihe- bzw. Geburtsdatum. */
+public record SyntheticPerson(
+        ObjectId mongoId,
+        String firstName,
+        String lastName,
+        LocalDate date
+) {
+}
@@ -0,0 +1,28 @@
+package at.spengergasse.ehif_dbi.benchmark.data;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/** Zipf-verteilte Ränge 0..n-1: wenige Werte kommen sehr oft vor, die meisten selten. */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        cumulative = new double[n];
+
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
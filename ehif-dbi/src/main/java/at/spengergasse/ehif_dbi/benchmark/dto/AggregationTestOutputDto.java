@@ -1,6 +1,65 @@
 package at.spengergasse.ehif_dbi.benchmark.dto;
 
+import at.spengergasse.ehif_dbi.benchmark.AggregationMemoryOptions;
+
+import java.util.List;
+
 public record AggregationTestOutputDto(
-        Long postgresTimeMs,
-        Long mongoTimeMs
-) {}
+        AggregationMemoryOptions memoryOptions,
+        Double postgresTimeMs,
+        Double mongoTimeMs,
+        Double postgresFoundedYearBucketsTimeMs,
+        Double mongoFoundedYearBucketsTimeMs,
+        Double postgresParishionerStatsTimeMs,
+        Double mongoParishionerStatsUnwindTimeMs,
+        Double mongoParishionerStatsArrayTimeMs,
+        Double postgresSharedPriestsTimeMs,
+        Double mongoSharedPriestsTimeMs,
+        LatencyStatsDto postgresStats,
+        LatencyStatsDto mongoStats,
+        LatencyStatsDto postgresFoundedYearBucketsStats,
+        LatencyStatsDto mongoFoundedYearBucketsStats,
+        LatencyStatsDto postgresParishionerStatsStats,
+        LatencyStatsDto mongoParishionerStatsUnwindStats,
+        LatencyStatsDto mongoParishionerStatsArrayStats,
+        LatencyStatsDto postgresSharedPriestsStats,
+        LatencyStatsDto mongoSharedPriestsStats,
+        List<QueryPlanDto> queryPlans
+) {
+    public AggregationTestOutputDto(
+            AggregationMemoryOptions memoryOptions,
+            LatencyStatsDto postgresStats,
+            LatencyStatsDto mongoStats,
+            LatencyStatsDto postgresFoundedYearBucketsStats,
+            LatencyStatsDto mongoFoundedYearBucketsStats,
+            LatencyStatsDto postgresParishionerStatsStats,
+            LatencyStatsDto mongoParishionerStatsUnwindStats,
+            LatencyStatsDto mongoParishionerStatsArrayStats,
+            LatencyStatsDto postgresSharedPriestsStats,
+            LatencyStatsDto mongoSharedPriestsStats,
+            List<QueryPlanDto> queryPlans
+    ) {
+        this(
+                memoryOptions,
+                postgresStats.p50Ms(),
+                mongoStats.p50Ms(),
+                postgresFoundedYearBucketsStats.p50Ms(),
+                mongoFoundedYearBucketsStats.p50Ms(),
+                postgresParishionerStatsStats.p50Ms(),
+                mongoParishionerStatsUnwindStats.p50Ms(),
+                mongoParishionerStatsArrayStats.p50Ms(),
+                postgresSharedPriestsStats.p50Ms(),
+                mongoSharedPriestsStats.p50Ms(),
+                postgresStats,
+                mongoStats,
+                postgresFoundedYearBucketsStats,
+                mongoFoundedYearBucketsStats,
+                postgresParishionerStatsStats,
+                mongoParishionerStatsUnwindStats,
+                mongoParishionerStatsArrayStats,
+                postgresSharedPriestsStats,
+                mongoSharedPriestsStats,
+                queryPlans
+        );
+    }
+}
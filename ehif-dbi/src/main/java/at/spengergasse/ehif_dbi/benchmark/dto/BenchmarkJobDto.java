@@ -0,0 +1,39 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.job.BenchmarkJob;
+import at.spengergasse.ehif_dbi.benchmark.job.BenchmarkJobStatus;
+import at.spengergasse.ehif_dbi.benchmark.job.BenchmarkJobType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record BenchmarkJobDto(
+        String id,
+        BenchmarkJobType type,
+        BenchmarkJobStatus status,
+        String phase,
+        Integer scale,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Map<String, Object> partialResults,
+        Object result,
+        String error
+) {
+    public BenchmarkJobDto(@NotNull BenchmarkJob job) {
+        this(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getPhase(),
+                job.getScale(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                Map.copyOf(job.getPartialResults()),
+                job.getResult(),
+                job.getError()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.history.BenchmarkRun;
+
+import java.time.Instant;
+
+public record BenchmarkRunSummaryDto(
+        String id,
+        String type,
+        Instant timestamp,
+        String gitCommit,
+        String springBootVersion,
+        String hibernateVersion,
+        Boolean baseline
+) {
+    public BenchmarkRunSummaryDto(BenchmarkRun run, boolean baseline) {
+        this(
+                run.id(),
+                run.type(),
+                run.metadata().timestamp(),
+                run.metadata().gitCommit(),
+                run.metadata().springBootVersion(),
+                run.metadata().hibernateVersion(),
+                baseline
+        );
+    }
+}
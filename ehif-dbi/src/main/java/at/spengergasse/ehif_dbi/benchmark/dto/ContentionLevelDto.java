@@ -0,0 +1,8 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record ContentionLevelDto(
+        Integer concurrency,
+        ContentionResultDto postgres,
+        ContentionResultDto mongoSave,
+        ContentionResultDto mongoTargeted
+) {}
@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record ContentionResultDto(
+        Long operations,
+        Long errors,
+        Double throughputOpsPerSec,
+        Long conflicts,
+        Long exhaustedRetries,
+        Double retriesPerOperation,
+        LatencyStatsDto latency
+) {}
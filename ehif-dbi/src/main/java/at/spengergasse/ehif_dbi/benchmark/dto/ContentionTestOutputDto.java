@@ -0,0 +1,9 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record ContentionTestOutputDto(
+        Double durationSeconds,
+        Integer maxAttempts,
+        List<ContentionLevelDto> levels
+) {}
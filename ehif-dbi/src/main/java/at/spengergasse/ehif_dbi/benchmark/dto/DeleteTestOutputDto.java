@@ -1,6 +1,12 @@
 package at.spengergasse.ehif_dbi.benchmark.dto;
 
 public record DeleteTestOutputDto(
-        Long postgresTimeMs,
-        Long mongoTimeMs
-) {}
+        Double postgresTimeMs,
+        Double mongoTimeMs,
+        LatencyStatsDto postgresStats,
+        LatencyStatsDto mongoStats
+) {
+    public DeleteTestOutputDto(LatencyStatsDto postgresStats, LatencyStatsDto mongoStats) {
+        this(postgresStats.p50Ms(), mongoStats.p50Ms(), postgresStats, mongoStats);
+    }
+}
@@ -0,0 +1,46 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record EmbeddedUpdateResultDto(
+        Integer arraySize,
+        Long documentSizeBytes,
+        Double saveUpdateTimeMs,
+        Double positionalUpdateTimeMs,
+        Double saveAddTimeMs,
+        Double pushTimeMs,
+        Double saveRemoveTimeMs,
+        Double pullTimeMs,
+        LatencyStatsDto saveUpdateStats,
+        LatencyStatsDto positionalUpdateStats,
+        LatencyStatsDto saveAddStats,
+        LatencyStatsDto pushStats,
+        LatencyStatsDto saveRemoveStats,
+        LatencyStatsDto pullStats
+) {
+    public EmbeddedUpdateResultDto(
+            Integer arraySize,
+            Long documentSizeBytes,
+            LatencyStatsDto saveUpdateStats,
+            LatencyStatsDto positionalUpdateStats,
+            LatencyStatsDto saveAddStats,
+            LatencyStatsDto pushStats,
+            LatencyStatsDto saveRemoveStats,
+            LatencyStatsDto pullStats
+    ) {
+        this(
+                arraySize,
+                documentSizeBytes,
+                saveUpdateStats.p50Ms(),
+                positionalUpdateStats.p50Ms(),
+                saveAddStats.p50Ms(),
+                pushStats.p50Ms(),
+                saveRemoveStats.p50Ms(),
+                pullStats.p50Ms(),
+                saveUpdateStats,
+                positionalUpdateStats,
+                saveAddStats,
+                pushStats,
+                saveRemoveStats,
+                pullStats
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record EmbeddedUpdateTestOutputDto(
+        List<EmbeddedUpdateResultDto> arraySizes
+) {
+}
@@ -0,0 +1,18 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record LatencyStatsDto(
+        Long samples,
+        Double minMs,
+        Double p50Ms,
+        Double p90Ms,
+        Double p99Ms,
+        Double maxMs,
+        Double meanMs,
+        Double stdDevMs,
+        Double ci95LowerMs,
+        Double ci95UpperMs
+) {
+    public static LatencyStatsDto empty() {
+        return new LatencyStatsDto(0L, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+    }
+}
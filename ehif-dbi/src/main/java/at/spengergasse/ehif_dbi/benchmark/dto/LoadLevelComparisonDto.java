@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record LoadLevelComparisonDto(
+        Integer concurrency,
+        LoadLevelResultDto postgres,
+        LoadLevelResultDto mongo
+) {}
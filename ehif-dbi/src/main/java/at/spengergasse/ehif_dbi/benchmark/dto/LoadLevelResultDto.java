@@ -0,0 +1,9 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record LoadLevelResultDto(
+        Integer concurrency,
+        Long operations,
+        Long errors,
+        Double throughputOpsPerSec,
+        LatencyStatsDto latency
+) {}
@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.load.LoadOperation;
+
+import java.util.List;
+
+public record LoadTestOutputDto(
+        LoadOperation operation,
+        Double durationSeconds,
+        List<LoadLevelComparisonDto> levels
+) {}
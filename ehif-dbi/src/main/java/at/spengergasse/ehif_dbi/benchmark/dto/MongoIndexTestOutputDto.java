@@ -1,6 +1,15 @@
 package at.spengergasse.ehif_dbi.benchmark.dto;
 
+import java.util.List;
+
 public record MongoIndexTestOutputDto(
-        Long mongoFindTimeMs,
-        Long mongoFindWithIndexTimeMs
-) {}
+        Double mongoFindTimeMs,
+        Double mongoFindWithIndexTimeMs,
+        LatencyStatsDto mongoFindStats,
+        LatencyStatsDto mongoFindWithIndexStats,
+        List<QueryPlanDto> queryPlans
+) {
+    public MongoIndexTestOutputDto(LatencyStatsDto mongoFindStats, LatencyStatsDto mongoFindWithIndexStats, List<QueryPlanDto> queryPlans) {
+        this(mongoFindStats.p50Ms(), mongoFindWithIndexStats.p50Ms(), mongoFindStats, mongoFindWithIndexStats, queryPlans);
+    }
+}
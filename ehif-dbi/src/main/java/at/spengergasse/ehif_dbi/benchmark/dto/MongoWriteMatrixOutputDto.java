@@ -0,0 +1,14 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.workload.DataShape;
+import at.spengergasse.ehif_dbi.service.mongo.MongoWriteOptions;
+
+import java.util.List;
+
+public record MongoWriteMatrixOutputDto(
+        Integer scale,
+        DataShape dataShape,
+        MongoWriteOptions fastest,
+        List<MongoWriteStrategyResultDto> strategies
+) {
+}
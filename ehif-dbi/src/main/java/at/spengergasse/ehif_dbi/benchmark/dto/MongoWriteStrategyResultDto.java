@@ -0,0 +1,10 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.service.mongo.MongoWriteOptions;
+
+public record MongoWriteStrategyResultDto(
+        MongoWriteOptions options,
+        Double documentsPerSec,
+        LatencyStatsDto stats
+) {
+}
@@ -0,0 +1,12 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record OpenLoopRateResultDto(
+        Double targetOpsPerSec,
+        Double achievedOpsPerSec,
+        Long operations,
+        Long errors,
+        Long dropped,
+        LatencyStatsDto latency,
+        LatencyStatsDto serviceTime,
+        Boolean withinSlo
+) {}
@@ -0,0 +1,14 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.load.LoadOperation;
+
+import java.util.List;
+
+public record OpenLoopTestOutputDto(
+        LoadOperation operation,
+        Double sloP99Ms,
+        Double postgresMaxSustainableOpsPerSec,
+        Double mongoMaxSustainableOpsPerSec,
+        List<OpenLoopRateResultDto> postgres,
+        List<OpenLoopRateResultDto> mongo
+) {}
@@ -0,0 +1,15 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.history.ComparisonVerdict;
+
+public record OperationComparisonDto(
+        String operation,
+        Double baselineMeanMs,
+        Double candidateMeanMs,
+        Double changePercent,
+        Double tStatistic,
+        Double degreesOfFreedom,
+        Boolean significant,
+        ComparisonVerdict verdict
+) {
+}
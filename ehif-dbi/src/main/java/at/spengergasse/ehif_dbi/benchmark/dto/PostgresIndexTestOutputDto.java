@@ -0,0 +1,10 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record PostgresIndexTestOutputDto(
+        int scale,
+        Double foundedYearCorrelation,
+        List<PostgresIndexVariantResultDto> variants
+) {
+}
@@ -0,0 +1,43 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.PostgresIndexVariant;
+
+import java.util.List;
+
+public record PostgresIndexVariantResultDto(
+        PostgresIndexVariant variant,
+        Double buildTimeMs,
+        Long indexSizeBytes,
+        Double rangeTimeMs,
+        Double equalityTimeMs,
+        Double rangeProjectedTimeMs,
+        LatencyStatsDto buildStats,
+        LatencyStatsDto rangeStats,
+        LatencyStatsDto equalityStats,
+        LatencyStatsDto rangeProjectedStats,
+        List<QueryPlanDto> queryPlans
+) {
+    public PostgresIndexVariantResultDto(
+            PostgresIndexVariant variant,
+            LatencyStatsDto buildStats,
+            Long indexSizeBytes,
+            LatencyStatsDto rangeStats,
+            LatencyStatsDto equalityStats,
+            LatencyStatsDto rangeProjectedStats,
+            List<QueryPlanDto> queryPlans
+    ) {
+        this(
+                variant,
+                buildStats == null ? null : buildStats.p50Ms(),
+                indexSizeBytes,
+                rangeStats.p50Ms(),
+                equalityStats.p50Ms(),
+                rangeProjectedStats.p50Ms(),
+                buildStats,
+                rangeStats,
+                equalityStats,
+                rangeProjectedStats,
+                queryPlans
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+public record QueryPlanDto(
+        String store,
+        String query,
+        Long rowsReturned,
+        Long rowsExamined,
+        Long keysExamined,
+        List<String> indexesUsed,
+        List<String> planNodes,
+        Long sharedHitBlocks,
+        Long sharedReadBlocks,
+        Double executionTimeMs,
+        JsonNode rawPlan
+) {
+    public QueryPlanDto withoutRawPlan() {
+        return new QueryPlanDto(
+                store,
+                query,
+                rowsReturned,
+                rowsExamined,
+                keysExamined,
+                indexesUsed,
+                planNodes,
+                sharedHitBlocks,
+                sharedReadBlocks,
+                executionTimeMs,
+                null
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record ReactiveLevelDto(
+        Integer concurrency,
+        ReactiveResultDto blocking,
+        ReactiveResultDto reactive
+) {}
@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record ReactiveResultDto(
+        LoadLevelResultDto load,
+        Double peakHeapMb,
+        Integer peakPlatformThreads
+) {}
@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.load.LoadOperation;
+
+import java.util.List;
+
+public record ReactiveTestOutputDto(
+        LoadOperation operation,
+        Double durationSeconds,
+        List<ReactiveLevelDto> levels
+) {}
@@ -1,12 +1,65 @@
 package at.spengergasse.ehif_dbi.benchmark.dto;
 
+import java.util.List;
+
 public record ReadTestOutputDto(
-        Long postgresFindAllTimeMs,
-        Long mongoFindAllTimeMs,
-        Long postgresWithFilterTimeMs,
-        Long mongoWithFilterTimeMs,
-        Long postgresWithFilterAndProjectionTimeMs,
-        Long mongoWithFilterAndProjectionTimeMs,
-        Long postgresWithFilterAndProjectionAndSortTimeMs,
-        Long mongoWithFilterAndProjectionAndSortTimeMs
-) {}
+        Double postgresFindAllTimeMs,
+        Double mongoFindAllTimeMs,
+        Double postgresSummariesTimeMs,
+        Double mongoSummariesTimeMs,
+        Double postgresWithFilterTimeMs,
+        Double mongoWithFilterTimeMs,
+        Double postgresWithFilterAndProjectionTimeMs,
+        Double mongoWithFilterAndProjectionTimeMs,
+        Double postgresWithFilterAndProjectionAndSortTimeMs,
+        Double mongoWithFilterAndProjectionAndSortTimeMs,
+        LatencyStatsDto postgresFindAllStats,
+        LatencyStatsDto mongoFindAllStats,
+        LatencyStatsDto postgresSummariesStats,
+        LatencyStatsDto mongoSummariesStats,
+        LatencyStatsDto postgresWithFilterStats,
+        LatencyStatsDto mongoWithFilterStats,
+        LatencyStatsDto postgresWithFilterAndProjectionStats,
+        LatencyStatsDto mongoWithFilterAndProjectionStats,
+        LatencyStatsDto postgresWithFilterAndProjectionAndSortStats,
+        LatencyStatsDto mongoWithFilterAndProjectionAndSortStats,
+        List<QueryPlanDto> queryPlans
+) {
+    public ReadTestOutputDto(
+            LatencyStatsDto postgresFindAllStats,
+            LatencyStatsDto mongoFindAllStats,
+            LatencyStatsDto postgresSummariesStats,
+            LatencyStatsDto mongoSummariesStats,
+            LatencyStatsDto postgresWithFilterStats,
+            LatencyStatsDto mongoWithFilterStats,
+            LatencyStatsDto postgresWithFilterAndProjectionStats,
+            LatencyStatsDto mongoWithFilterAndProjectionStats,
+            LatencyStatsDto postgresWithFilterAndProjectionAndSortStats,
+            LatencyStatsDto mongoWithFilterAndProjectionAndSortStats,
+            List<QueryPlanDto> queryPlans
+    ) {
+        this(
+                postgresFindAllStats.p50Ms(),
+                mongoFindAllStats.p50Ms(),
+                postgresSummariesStats.p50Ms(),
+                mongoSummariesStats.p50Ms(),
+                postgresWithFilterStats.p50Ms(),
+                mongoWithFilterStats.p50Ms(),
+                postgresWithFilterAndProjectionStats.p50Ms(),
+                mongoWithFilterAndProjectionStats.p50Ms(),
+                postgresWithFilterAndProjectionAndSortStats.p50Ms(),
+                mongoWithFilterAndProjectionAndSortStats.p50Ms(),
+                postgresFindAllStats,
+                mongoFindAllStats,
+                postgresSummariesStats,
+                mongoSummariesStats,
+                postgresWithFilterStats,
+                mongoWithFilterStats,
+                postgresWithFilterAndProjectionStats,
+                mongoWithFilterAndProjectionStats,
+                postgresWithFilterAndProjectionAndSortStats,
+                mongoWithFilterAndProjectionAndSortStats,
+                queryPlans
+        );
+    }
+}
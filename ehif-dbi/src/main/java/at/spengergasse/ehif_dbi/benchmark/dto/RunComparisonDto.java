@@ -0,0 +1,14 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record RunComparisonDto(
+        String baselineRunId,
+        String candidateRunId,
+        Double thresholdPercent,
+        Integer regressions,
+        Integer improvements,
+        List<OperationComparisonDto> operations,
+        List<String> unmatchedOperations
+) {
+}
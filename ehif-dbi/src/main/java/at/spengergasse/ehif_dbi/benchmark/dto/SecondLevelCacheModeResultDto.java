@@ -0,0 +1,30 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.state.SecondLevelCacheMode;
+
+public record SecondLevelCacheModeResultDto(
+        SecondLevelCacheMode mode,
+        Double parishByIdTimeMs,
+        Double priestByIdTimeMs,
+        Double cacheableRangeTimeMs,
+        LatencyStatsDto parishByIdStats,
+        LatencyStatsDto priestByIdStats,
+        LatencyStatsDto cacheableRangeStats
+) {
+    public SecondLevelCacheModeResultDto(
+            SecondLevelCacheMode mode,
+            LatencyStatsDto parishByIdStats,
+            LatencyStatsDto priestByIdStats,
+            LatencyStatsDto cacheableRangeStats
+    ) {
+        this(
+                mode,
+                parishByIdStats.p50Ms(),
+                priestByIdStats.p50Ms(),
+                cacheableRangeStats.p50Ms(),
+                parishByIdStats,
+                priestByIdStats,
+                cacheableRangeStats
+        );
+    }
+}
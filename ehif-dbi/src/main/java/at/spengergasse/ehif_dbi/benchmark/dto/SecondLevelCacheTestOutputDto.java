@@ -0,0 +1,10 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record SecondLevelCacheTestOutputDto(
+        int scale,
+        int hotSetSize,
+        List<SecondLevelCacheModeResultDto> modes
+) {
+}
@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record ThreadModelLevelDto(
+        Integer concurrency,
+        ThreadModelResultDto platform,
+        ThreadModelResultDto virtual
+) {}
@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+public record ThreadModelResultDto(
+        LoadLevelResultDto load,
+        Integer peakPlatformThreads,
+        Long pinnedEvents
+) {}
@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record ThreadModelTestOutputDto(
+        String path,
+        Integer platformPoolSize,
+        Integer connectionPoolSize,
+        Double durationSeconds,
+        List<ThreadModelLevelDto> levels
+) {}
@@ -0,0 +1,10 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+
+import java.util.List;
+
+public record WorkloadResultDto(
+        WorkloadSpec spec,
+        List<WorkloadScaleResultDto> scales
+) {}
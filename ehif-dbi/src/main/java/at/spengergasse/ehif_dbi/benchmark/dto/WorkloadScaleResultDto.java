@@ -0,0 +1,13 @@
+package at.spengergasse.ehif_dbi.benchmark.dto;
+
+import java.util.List;
+
+public record WorkloadScaleResultDto(
+        Integer scale,
+        WriteTestOutputDto writes,
+        ReadTestOutputDto reads,
+        AggregationTestOutputDto aggregations,
+        List<LoadLevelComparisonDto> mixedLoad,
+        UpdateTestOutputDto updates,
+        DeleteTestOutputDto deletes
+) {}
@@ -1,6 +1,14 @@
 package at.spengergasse.ehif_dbi.benchmark.dto;
 
 public record WriteTestOutputDto(
-        Long postgresTimeMs,
-        Long mongoTimeMs
-) {}
+        Double postgresTimeMs,
+        Double mongoTimeMs,
+        LatencyStatsDto postgresStats,
+        LatencyStatsDto mongoStats,
+        Double postgresCopyTimeMs,
+        LatencyStatsDto postgresCopyStats
+) {
+    public WriteTestOutputDto(LatencyStatsDto postgresStats, LatencyStatsDto mongoStats, LatencyStatsDto postgresCopyStats) {
+        this(postgresStats.p50Ms(), mongoStats.p50Ms(), postgresStats, mongoStats, postgresCopyStats.p50Ms(), postgresCopyStats);
+    }
+}
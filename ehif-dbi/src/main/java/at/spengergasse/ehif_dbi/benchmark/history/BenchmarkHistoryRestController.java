@@ -0,0 +1,48 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.BenchmarkRunSummaryDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.RunComparisonDto;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/benchmarks/history", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class BenchmarkHistoryRestController {
+
+    private final BenchmarkHistoryService benchmarkHistoryService;
+
+    @GetMapping
+    public ResponseEntity<List<BenchmarkRunSummaryDto>> getRuns() {
+        List<BenchmarkRunSummaryDto> runs = benchmarkHistoryService.getRuns();
+        return runs.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(runs);
+    }
+
+    @GetMapping("{runId}")
+    public ResponseEntity<BenchmarkRun> getRun(@PathVariable String runId) {
+        return ResponseEntity.ok(benchmarkHistoryService.getRun(runId));
+    }
+
+    @Operation(summary = "Pin a run as baseline for regression checks")
+    @PutMapping("{runId}/baseline")
+    public ResponseEntity<BenchmarkRunSummaryDto> pinBaseline(@PathVariable String runId) {
+        return ResponseEntity.ok(new BenchmarkRunSummaryDto(benchmarkHistoryService.pinBaseline(runId), true));
+    }
+
+    @Operation(summary = "Compare a run against the pinned baseline (Welch t-test per operation)")
+    @GetMapping("{runId}/compare-baseline")
+    public ResponseEntity<RunComparisonDto> compareWithBaseline(@PathVariable String runId) {
+        return ResponseEntity.ok(benchmarkHistoryService.compareWithBaseline(runId));
+    }
+
+    @Operation(summary = "Compare two runs of the same type (Welch t-test per operation)")
+    @GetMapping("compare")
+    public ResponseEntity<RunComparisonDto> compare(@RequestParam String baseline, @RequestParam String candidate) {
+        return ResponseEntity.ok(benchmarkHistoryService.compare(baseline, candidate));
+    }
+}
@@ -0,0 +1,213 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProperties;
+import at.spengergasse.ehif_dbi.benchmark.dto.BenchmarkRunSummaryDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.LatencyStatsDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.OperationComparisonDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.RunComparisonDto;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Speichert jeden Benchmark-Lauf als JSON-Datei in {@code benchmark.history-dir}.
+ * Bewusst keine Tabelle in Postgres: die Benchmarks leeren die Datenbank, und in den
+ * Testcontainern ist das Schema ohnehin create-drop.
+ */
+@Service
+@RequiredArgsConstructor
+public class BenchmarkHistoryService {
+
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final String BASELINE_FILE = "baseline";
+
+    private final ObjectMapper objectMapper;
+    private final BenchmarkMetadataCollector metadataCollector;
+    private final BenchmarkProperties benchmarkProperties;
+
+    // ============================================================
+    // SPEICHERN
+    // ============================================================
+
+    public <T> T record(String type, Map<String, Object> parameters, WorkloadSpec workloadSpec, T result) {
+        BenchmarkRunMetadata metadata = metadataCollector.collect(parameters, workloadSpec);
+        String id = ID_FORMAT.format(metadata.timestamp())
+                + "-" + type.toLowerCase(Locale.ROOT).replace('_', '-')
+                + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt(0x1000, 0x10000));
+
+        BenchmarkRun run = new BenchmarkRun(id, type, metadata, objectMapper.valueToTree(result));
+
+        try {
+            Files.createDirectories(historyDir());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(runFile(id).toFile(), run);
+            System.out.println("=== BENCHMARK RUN SAVED: " + id + " ===");
+        } catch (IOException e) {
+            // Ein Fehler beim Speichern soll das Ergebnis des Laufs nicht verwerfen
+            System.err.println("=== BENCHMARK RUN NOT SAVED: " + e.getMessage() + " ===");
+        }
+
+        return result;
+    }
+
+    // ============================================================
+    // LESEN
+    // ============================================================
+
+    public List<BenchmarkRunSummaryDto> getRuns() {
+        if (!Files.isDirectory(historyDir())) {
+            return List.of();
+        }
+
+        String baselineId = getBaselineId().orElse(null);
+
+        try (Stream<Path> files = Files.list(historyDir())) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .map(this::read)
+                    .map(run -> new BenchmarkRunSummaryDto(run, run.id().equals(baselineId)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public BenchmarkRun getRun(String id) {
+        if (!VALID_ID.matcher(id).matches() || !Files.exists(runFile(id))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Benchmark Run Not Found");
+        }
+        return read(runFile(id));
+    }
+
+    // ============================================================
+    // BASELINE
+    // ============================================================
+
+    public BenchmarkRun pinBaseline(String id) {
+        BenchmarkRun run = getRun(id);
+
+        try {
+            Files.writeString(historyDir().resolve(BASELINE_FILE), run.id());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return run;
+    }
+
+    public Optional<String> getBaselineId() {
+        Path file = historyDir().resolve(BASELINE_FILE);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readString(file).strip());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ============================================================
+    // VERGLEICH
+    // ============================================================
+
+    public RunComparisonDto compareWithBaseline(String candidateId) {
+        String baselineId = getBaselineId()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "No Baseline Pinned"));
+        return compare(baselineId, candidateId);
+    }
+
+    public RunComparisonDto compare(String baselineId, String candidateId) {
+        BenchmarkRun baseline = getRun(baselineId);
+        BenchmarkRun candidate = getRun(candidateId);
+
+        if (!baseline.type().equals(candidate.type())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Runs Have Different Types");
+        }
+
+        Map<String, LatencyStatsDto> baselineStats = latencyStats(baseline.result());
+        Map<String, LatencyStatsDto> candidateStats = latencyStats(candidate.result());
+        double threshold = benchmarkProperties.regressionThresholdPercent();
+
+        List<OperationComparisonDto> operations = new ArrayList<>();
+        List<String> unmatched = new ArrayList<>();
+
+        baselineStats.forEach((operation, stats) -> {
+            LatencyStatsDto other = candidateStats.get(operation);
+            if (other == null) {
+                unmatched.add(operation);
+            } else {
+                operations.add(WelchTTest.compare(operation, stats, other, threshold));
+            }
+        });
+        candidateStats.keySet().stream()
+                .filter(operation -> !baselineStats.containsKey(operation))
+                .forEach(unmatched::add);
+
+        return new RunComparisonDto(
+                baseline.id(),
+                candidate.id(),
+                threshold,
+                (int) operations.stream().filter(o -> o.verdict() == ComparisonVerdict.REGRESSION).count(),
+                (int) operations.stream().filter(o -> o.verdict() == ComparisonVerdict.IMPROVEMENT).count(),
+                operations,
+                unmatched
+        );
+    }
+
+    /** Sucht rekursiv alle LatencyStats-Objekte im Ergebnis; der JSON-Pfad ist der Name der Operation. */
+    private Map<String, LatencyStatsDto> latencyStats(JsonNode result) {
+        Map<String, LatencyStatsDto> stats = new LinkedHashMap<>();
+        collectLatencyStats(result, "", stats);
+        return stats;
+    }
+
+    private void collectLatencyStats(JsonNode node, String path, Map<String, LatencyStatsDto> stats) {
+        if (node.isObject()) {
+            if (node.has("meanMs") && node.has("stdDevMs") && node.has("samples")) {
+                stats.put(path, objectMapper.convertValue(node, LatencyStatsDto.class));
+                return;
+            }
+            node.properties().forEach(entry ->
+                    collectLatencyStats(entry.getValue(), path.isEmpty() ? entry.getKey() : path + "." + entry.getKey(), stats)
+            );
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                collectLatencyStats(node.get(i), path + "[" + i + "]", stats);
+            }
+        }
+    }
+
+    private BenchmarkRun read(Path file) {
+        try {
+            return objectMapper.readValue(file.toFile(), BenchmarkRun.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path historyDir() {
+        return Path.of(benchmarkProperties.historyDir());
+    }
+
+    private Path runFile(String id) {
+        return historyDir().resolve(id + ".json");
+    }
+}
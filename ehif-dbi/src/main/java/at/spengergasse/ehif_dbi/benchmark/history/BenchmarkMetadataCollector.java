@@ -0,0 +1,72 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+import com.mongodb.client.MongoClient;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.SpringBootVersion;
+import org.springframework.boot.info.GitProperties;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sammelt alles, was einen Lauf reproduzierbar macht: Commit, JVM, Heap und die Versionen
+ * von Framework, Datenbanken und Treibern (relevant bei Upgrades von Boot/Hibernate/Treibern).
+ */
+@Component
+@RequiredArgsConstructor
+public class BenchmarkMetadataCollector {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectProvider<GitProperties> gitProperties;
+
+    public BenchmarkRunMetadata collect(Map<String, Object> parameters, WorkloadSpec workloadSpec) {
+        GitProperties git = gitProperties.getIfAvailable();
+
+        return new BenchmarkRunMetadata(
+                Instant.now(),
+                git != null && git.getCommitId() != null ? git.getCommitId() : UNKNOWN,
+                git != null && git.getBranch() != null ? git.getBranch() : UNKNOWN,
+                Runtime.version().toString(),
+                System.getProperty("java.vendor"),
+                Runtime.getRuntime().maxMemory(),
+                jvmArguments(),
+                SpringBootVersion.getVersion(),
+                org.hibernate.Version.getVersionString(),
+                orUnknown(() -> jdbcTemplate.queryForObject("SHOW server_version", String.class)),
+                orUnknown(() -> jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDriverVersion())),
+                orUnknown(() -> mongoTemplate.executeCommand(new Document("buildInfo", 1)).getString("version")),
+                orUnknown(() -> MongoClient.class.getPackage().getImplementationVersion()),
+                parameters,
+                workloadSpec
+        );
+    }
+
+    // Nur Heap-/GC-relevante Flags, keine Agent-Pfade o.ä.
+    private static List<String> jvmArguments() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(arg -> arg.startsWith("-Xm") || arg.startsWith("-Xss") || arg.startsWith("-XX:"))
+                .toList();
+    }
+
+    private static String orUnknown(Supplier<String> supplier) {
+        try {
+            String value = supplier.get();
+            return value != null ? value : UNKNOWN;
+        } catch (RuntimeException e) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Ein gespeicherter Benchmark-Lauf. Das Ergebnis bleibt als JSON-Baum erhalten,
+ * damit auch alte Läufe lesbar bleiben, wenn sich die DTOs ändern.
+ */
+public record BenchmarkRun(
+        String id,
+        String type,
+        BenchmarkRunMetadata metadata,
+        JsonNode result
+) {
+}
@@ -0,0 +1,26 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record BenchmarkRunMetadata(
+        Instant timestamp,
+        String gitCommit,
+        String gitBranch,
+        String javaVersion,
+        String javaVendor,
+        long maxHeapBytes,
+        List<String> jvmArguments,
+        String springBootVersion,
+        String hibernateVersion,
+        String postgresVersion,
+        String postgresDriverVersion,
+        String mongoVersion,
+        String mongoDriverVersion,
+        Map<String, Object> parameters,
+        WorkloadSpec workloadSpec
+) {
+}
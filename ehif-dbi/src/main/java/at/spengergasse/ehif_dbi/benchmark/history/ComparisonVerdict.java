@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+public enum ComparisonVerdict {
+    REGRESSION,
+    IMPROVEMENT,
+    UNCHANGED
+}
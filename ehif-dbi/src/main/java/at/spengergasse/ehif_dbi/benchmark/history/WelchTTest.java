@@ -0,0 +1,54 @@
+package at.spengergasse.ehif_dbi.benchmark.history;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.LatencyStatsDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.OperationComparisonDto;
+import at.spengergasse.ehif_dbi.benchmark.measurement.StudentT;
+
+/**
+ * Welch-t-Test auf den Mittelwerten zweier Messreihen (ungleiche Varianzen erlaubt).
+ * Als Regression zählt nur eine signifikante Verlangsamung über dem Schwellwert,
+ * damit Rauschen im Bereich weniger Prozent nicht jeden Lauf rot macht.
+ */
+final class WelchTTest {
+
+    private WelchTTest() {}
+
+    static OperationComparisonDto compare(String operation, LatencyStatsDto baseline, LatencyStatsDto candidate, double thresholdPercent) {
+        double m1 = baseline.meanMs();
+        double m2 = candidate.meanMs();
+        long n1 = baseline.samples();
+        long n2 = candidate.samples();
+
+        double changePercent = m1 > 0 ? (m2 - m1) / m1 * 100.0 : 0.0;
+
+        if (n1 < 2 || n2 < 2) {
+            return new OperationComparisonDto(operation, m1, m2, changePercent, Double.NaN, Double.NaN, false, ComparisonVerdict.UNCHANGED);
+        }
+
+        double v1 = baseline.stdDevMs() * baseline.stdDevMs() / n1;
+        double v2 = candidate.stdDevMs() * candidate.stdDevMs() / n2;
+        double standardError = Math.sqrt(v1 + v2);
+
+        double t;
+        double df;
+        if (standardError == 0) {
+            // Keine Streuung: jeder Unterschied ist "signifikant"
+            t = m1 == m2 ? 0.0 : Math.copySign(Double.POSITIVE_INFINITY, m2 - m1);
+            df = n1 + n2 - 2;
+        } else {
+            t = (m2 - m1) / standardError;
+            df = (v1 + v2) * (v1 + v2) / (v1 * v1 / (n1 - 1) + v2 * v2 / (n2 - 1));
+        }
+
+        boolean significant = Math.abs(t) > StudentT.criticalValue95(df);
+
+        ComparisonVerdict verdict = ComparisonVerdict.UNCHANGED;
+        if (significant && changePercent > thresholdPercent) {
+            verdict = ComparisonVerdict.REGRESSION;
+        } else if (significant && changePercent < -thresholdPercent) {
+            verdict = ComparisonVerdict.IMPROVEMENT;
+        }
+
+        return new OperationComparisonDto(operation, m1, m2, changePercent, t, df, significant, verdict);
+    }
+}
@@ -0,0 +1,123 @@
+package at.spengergasse.ehif_dbi.benchmark.job;
+
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProgress;
+import at.spengergasse.ehif_dbi.benchmark.dto.BenchmarkJobDto;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+/**
+ * Zustand eines asynchron laufenden Benchmarks. Jede Änderung wird an alle
+ * verbundenen SSE-Clients als {@code progress}-Event geschickt.
+ */
+@Getter
+public class BenchmarkJob implements BenchmarkProgress {
+
+    private final String id = UUID.randomUUID().toString();
+    private final BenchmarkJobType type;
+    private final Instant createdAt = Instant.now();
+    private final Map<String, Object> partialResults = new ConcurrentHashMap<>();
+
+    private volatile BenchmarkJobStatus status = BenchmarkJobStatus.QUEUED;
+    private volatile String phase;
+    private volatile Integer scale;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Object result;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public BenchmarkJob(BenchmarkJobType type) {
+        this.type = type;
+    }
+
+    @Override
+    public void phase(String phase, Integer scale) {
+        if (cancelRequested || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Job " + id + " cancelled");
+        }
+        this.phase = phase;
+        this.scale = scale;
+        publish("progress");
+    }
+
+    @Override
+    public void partialResult(String key, Object result) {
+        partialResults.put(key, result);
+        publish("progress");
+    }
+
+    void started(Future<?> future) {
+        this.future = future;
+    }
+
+    void running() {
+        status = BenchmarkJobStatus.RUNNING;
+        startedAt = Instant.now();
+        publish("progress");
+    }
+
+    void succeeded(Object result) {
+        this.result = result;
+        finish(BenchmarkJobStatus.SUCCEEDED);
+    }
+
+    void failed(Throwable throwable) {
+        this.error = throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+        finish(BenchmarkJobStatus.FAILED);
+    }
+
+    void cancelled() {
+        finish(BenchmarkJobStatus.CANCELLED);
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    void subscribe(SseEmitter emitter) {
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        send(emitter, "progress");
+        if (status.isFinished()) {
+            emitter.complete();
+        }
+    }
+
+    private void finish(BenchmarkJobStatus finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+        publish("result");
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    private void publish(String eventName) {
+        emitters.forEach(emitter -> send(emitter, eventName));
+    }
+
+    private void send(SseEmitter emitter, String eventName) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(new BenchmarkJobDto(this)));
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+        }
+    }
+}
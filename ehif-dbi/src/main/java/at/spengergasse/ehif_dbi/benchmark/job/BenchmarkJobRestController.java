@@ -0,0 +1,76 @@
+package at.spengergasse.ehif_dbi.benchmark.job;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.BenchmarkJobDto;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpecLoader;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/benchmarks/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class BenchmarkJobRestController {
+
+    private final BenchmarkJobService benchmarkJobService;
+    private final WorkloadSpecLoader workloadSpecLoader;
+
+    @Operation(summary = "Submit a workload job (posted spec, or benchmark.workload-file when the body is empty)")
+    @PostMapping("WORKLOAD")
+    public ResponseEntity<BenchmarkJobDto> submitWorkload(@Valid @RequestBody(required = false) WorkloadSpec workloadSpec) {
+        WorkloadSpec spec = workloadSpec != null ? workloadSpec : workloadSpecLoader.loadConfigured();
+        return accepted(benchmarkJobService.submit(BenchmarkJobType.WORKLOAD, spec));
+    }
+
+    @Operation(summary = "Submit a single benchmark category as job")
+    @PostMapping("{type}")
+    public ResponseEntity<BenchmarkJobDto> submit(@PathVariable BenchmarkJobType type) {
+        return accepted(benchmarkJobService.submit(type, null));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BenchmarkJobDto>> getJobs() {
+        return ResponseEntity.ok(benchmarkJobService.getJobs().stream()
+                .sorted(Comparator.comparing(BenchmarkJob::getCreatedAt))
+                .map(BenchmarkJobDto::new)
+                .toList());
+    }
+
+    @GetMapping("{jobId}")
+    public ResponseEntity<BenchmarkJobDto> getJob(@PathVariable String jobId) {
+        return benchmarkJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(new BenchmarkJobDto(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Stream job progress as server-sent events (progress, result)")
+    @GetMapping(value = "{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId) {
+        return benchmarkJobService.subscribe(jobId);
+    }
+
+    @DeleteMapping("{jobId}")
+    public ResponseEntity<BenchmarkJobDto> cancelJob(@PathVariable String jobId) {
+        return benchmarkJobService.cancel(jobId)
+                .map(job -> ResponseEntity.ok(new BenchmarkJobDto(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<BenchmarkJobDto> accepted(BenchmarkJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder
+                        .fromCurrentContextPath()
+                        .path("/api/benchmarks/jobs/{jobId}")
+                        .buildAndExpand(job.getId())
+                        .toUri())
+                .body(new BenchmarkJobDto(job));
+    }
+}
@@ -0,0 +1,162 @@
+package at.spengergasse.ehif_dbi.benchmark.job;
+
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProperties;
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkRunner;
+import at.spengergasse.ehif_dbi.benchmark.history.BenchmarkHistoryService;
+import at.spengergasse.ehif_dbi.benchmark.workload.DataShape;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadRunner;
+import at.spengergasse.ehif_dbi.benchmark.workload.WorkloadSpec;
+import at.spengergasse.ehif_dbi.service.mongo.MongoWriteOptions;
+import at.spengergasse.ehif_dbi.service.mongo.WriteConcernLevel;
+import at.spengergasse.ehif_dbi.service.threads.ThreadModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Führt Benchmarks im Hintergrund aus. Jobs laufen nacheinander auf einem eigenen
+ * Thread, damit sich zwei Läufe nicht gegenseitig die Messung verfälschen.
+ */
+@Service
+@RequiredArgsConstructor
+public class BenchmarkJobService {
+
+    private static final DataShape DEFAULT_MONGO_WRITE_SHAPE = new DataShape(2, 20);
+    private static final List<Integer> DEFAULT_EMBEDDED_ARRAY_SIZES = List.of(10, 100, 1000, 10000);
+
+    private final BenchmarkRunner benchmarkRunner;
+    private final WorkloadRunner workloadRunner;
+    private final BenchmarkHistoryService benchmarkHistoryService;
+    private final BenchmarkProperties benchmarkProperties;
+    private final Environment environment;
+
+    private final Map<String, BenchmarkJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    /** Ein Thread nach spring.threads.virtual.enabled, die Jobs blockieren fast nur auf JDBC und Mongo */
+    @PostConstruct
+    void startExecutor() {
+        executor = Executors.newSingleThreadExecutor(ThreadModel.configured(environment).factory("benchmark-job-"));
+    }
+
+    public BenchmarkJob submit(BenchmarkJobType type, WorkloadSpec workloadSpec) {
+        if (type == BenchmarkJobType.WORKLOAD && workloadSpec == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Workload jobs need a workload spec");
+        }
+
+        BenchmarkJob job = new BenchmarkJob(type);
+        jobs.put(job.getId(), job);
+        job.started(executor.submit(() -> execute(job, workloadSpec)));
+
+        return job;
+    }
+
+    public Collection<BenchmarkJob> getJobs() {
+        return jobs.values();
+    }
+
+    public Optional<BenchmarkJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Optional<BenchmarkJob> cancel(String id) {
+        return getJob(id).map(job -> {
+            job.requestCancel();
+            if (job.getStatus() == BenchmarkJobStatus.QUEUED) {
+                job.cancelled();
+            }
+            return job;
+        });
+    }
+
+    public SseEmitter subscribe(String id) {
+        BenchmarkJob job = getJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job Not Found"));
+
+        SseEmitter emitter = new SseEmitter(0L);
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void execute(BenchmarkJob job, WorkloadSpec workloadSpec) {
+        if (job.isCancelRequested()) {
+            return;
+        }
+        job.running();
+
+        try {
+            Object result = switch (job.getType()) {
+                case WRITES -> benchmarkRunner.runWriteBenchmarks(job);
+                case READS -> {
+                    job.phase("READ", null);
+                    yield benchmarkRunner.runReadBenchmarks();
+                }
+                case UPDATES -> {
+                    job.phase("UPDATE", null);
+                    yield benchmarkRunner.runUpdateBenchmarks();
+                }
+                case DELETES -> {
+                    job.phase("DELETE", null);
+                    yield benchmarkRunner.runDeleteBenchmarks();
+                }
+                case MONGO_INDEX -> {
+                    job.phase("MONGO_INDEX", null);
+                    yield benchmarkRunner.runMongoIndexBenchmarks();
+                }
+                case POSTGRES_INDEX -> {
+                    job.phase("POSTGRES_INDEX", null);
+                    yield benchmarkRunner.runPostgresIndexBenchmarks();
+                }
+                case SECOND_LEVEL_CACHE -> {
+                    job.phase("SECOND_LEVEL_CACHE", null);
+                    yield benchmarkRunner.runSecondLevelCacheBenchmarks();
+                }
+                case MONGO_WRITES -> {
+                    job.phase("MONGO_WRITES", null);
+                    yield benchmarkRunner.runMongoWriteBenchmarks(DEFAULT_MONGO_WRITE_SHAPE, MongoWriteOptions.matrix(
+                            List.of(true, false),
+                            List.of(100, 1000, 10000),
+                            List.of(WriteConcernLevel.values()),
+                            List.of(1, 4)
+                    ));
+                }
+                case EMBEDDED_UPDATES -> {
+                    job.phase("EMBEDDED_UPDATES", null);
+                    yield benchmarkRunner.runEmbeddedUpdateBenchmarks(DEFAULT_EMBEDDED_ARRAY_SIZES);
+                }
+                case AGGREGATION -> benchmarkRunner.runAggregationBenchmarks(job);
+                case WORKLOAD -> workloadRunner.run(workloadSpec, job);
+            };
+
+            Map<String, Object> parameters = workloadSpec == null ? Map.of("scales", benchmarkProperties.scales()) : Map.of();
+            job.succeeded(benchmarkHistoryService.record(job.getType().name(), parameters, workloadSpec, result));
+        } catch (CancellationException e) {
+            job.cancelled();
+        } catch (RuntimeException e) {
+            if (job.isCancelRequested()) {
+                job.cancelled();
+            } else {
+                job.failed(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package at.spengergasse.ehif_dbi.benchmark.job;
+
+public enum BenchmarkJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,15 @@
+package at.spengergasse.ehif_dbi.benchmark.job;
+
+public enum BenchmarkJobType {
+    WRITES,
+    READS,
+    UPDATES,
+    DELETES,
+    MONGO_INDEX,
+    POSTGRES_INDEX,
+    SECOND_LEVEL_CACHE,
+    MONGO_WRITES,
+    EMBEDDED_UPDATES,
+    AGGREGATION,
+    WORKLOAD
+}
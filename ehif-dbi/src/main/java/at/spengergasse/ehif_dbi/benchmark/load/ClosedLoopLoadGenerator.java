@@ -0,0 +1,58 @@
+package at.spengergasse.ehif_dbi.benchmark.load;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.LoadLevelResultDto;
+import at.spengergasse.ehif_dbi.benchmark.measurement.LatencyRecorder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed Loop: jeder der {@code concurrency} virtuellen Threads startet die nächste
+ * Operation erst, wenn die vorige fertig ist. Gezählt werden Operationen, die im
+ * Messfenster nach dem Warmup gestartet wurden.
+ */
+@Component
+public class ClosedLoopLoadGenerator {
+
+    public LoadLevelResultDto run(Runnable operation, int concurrency, Duration warmup, Duration duration) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        LongAdder errors = new LongAdder();
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    long start;
+                    while ((start = System.nanoTime()) < measureEnd) {
+                        boolean failed = false;
+                        try {
+                            operation.run();
+                        } catch (RuntimeException e) {
+                            failed = true;
+                        }
+                        long end = System.nanoTime();
+
+                        if (start < measureStart) {
+                            continue;
+                        }
+                        if (failed) {
+                            errors.increment();
+                        } else {
+                            recorder.recordNanos(end - start);
+                        }
+                    }
+                });
+            }
+        }
+
+        long operations = recorder.count();
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+
+        return new LoadLevelResultDto(concurrency, operations, errors.sum(), operations / seconds, recorder.toStats());
+    }
+}
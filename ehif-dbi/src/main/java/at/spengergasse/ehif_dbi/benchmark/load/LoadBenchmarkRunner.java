@@ -0,0 +1,375 @@
+package at.spengergasse.ehif_dbi.benchmark.load;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.ContentionLevelDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ContentionResultDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ContentionTestOutputDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.LoadLevelComparisonDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.LoadLevelResultDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.LoadTestOutputDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.OpenLoopRateResultDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.OpenLoopTestOutputDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ReactiveLevelDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ReactiveResultDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ReactiveTestOutputDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ThreadModelLevelDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ThreadModelResultDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.ThreadModelTestOutputDto;
+import at.spengergasse.ehif_dbi.service.retry.OptimisticRetryExecutor;
+import at.spengergasse.ehif_dbi.service.retry.OptimisticRetryProperties;
+import at.spengergasse.ehif_dbi.service.threads.SwitchableRequestExecutor;
+import at.spengergasse.ehif_dbi.service.threads.ThreadModel;
+import at.spengergasse.ehif_dbi.service.threads.VirtualThreadPinningMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+public class LoadBenchmarkRunner {
+
+    private final LoadTargets loadTargets;
+    private final ClosedLoopLoadGenerator closedLoopLoadGenerator;
+    private final ReactiveClosedLoopLoadGenerator reactiveClosedLoopLoadGenerator;
+    private final OpenLoopLoadGenerator openLoopLoadGenerator;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final OptimisticRetryProperties optimisticRetryProperties;
+    private final SwitchableRequestExecutor requestExecutor;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final Environment environment;
+
+    /** Sweep über 1, 2, 4, … bis maxConcurrency, pro Stufe erst Postgres, dann Mongo */
+    public LoadTestOutputDto runClosedLoopBenchmarks(LoadOperation operation, int maxConcurrency, Duration warmup, Duration duration) {
+        System.out.println("=== CLOSED LOOP LOAD BENCHMARKS STARTED (" + operation + ") ===");
+
+        Runnable postgres = loadTargets.postgres(operation);
+        Runnable mongo = loadTargets.mongo(operation);
+
+        List<LoadLevelComparisonDto> levels = new ArrayList<>();
+
+        for (int concurrency : concurrencyLevels(maxConcurrency)) {
+            System.out.println();
+            System.out.println("========== CONCURRENCY = " + concurrency + " ==========");
+
+            LoadLevelResultDto pgResult = closedLoopLoadGenerator.run(postgres, concurrency, warmup, duration);
+            LoadLevelResultDto mongoResult = closedLoopLoadGenerator.run(mongo, concurrency, warmup, duration);
+
+            print("Postgres", pgResult);
+            print("MongoDB ", mongoResult);
+
+            levels.add(new LoadLevelComparisonDto(concurrency, pgResult, mongoResult));
+        }
+
+        System.out.println();
+        System.out.println("=== CLOSED LOOP LOAD BENCHMARKS FINISHED ===");
+
+        return new LoadTestOutputDto(operation, duration.toMillis() / 1000.0, levels);
+    }
+
+    /**
+     * Steigert die Ankunftsrate pro Store ab startRate um rateFactor, bis das p99-SLO
+     * verletzt wird oder maxRate erreicht ist. Die letzte Rate innerhalb des SLO ist
+     * der maximal tragbare Durchsatz.
+     */
+    public OpenLoopTestOutputDto runOpenLoopBenchmarks(
+            LoadOperation operation,
+            double startRate,
+            double maxRate,
+            double rateFactor,
+            double sloP99Ms,
+            Duration warmup,
+            Duration duration
+    ) {
+        System.out.println("=== OPEN LOOP LOAD BENCHMARKS STARTED (" + operation + ", SLO p99 <= " + sloP99Ms + " ms) ===");
+
+        System.out.println();
+        System.out.println("-- Postgres");
+        List<OpenLoopRateResultDto> pgResults = sweepRates(loadTargets.postgres(operation), startRate, maxRate, rateFactor, sloP99Ms, warmup, duration);
+
+        System.out.println();
+        System.out.println("-- MongoDB");
+        List<OpenLoopRateResultDto> mongoResults = sweepRates(loadTargets.mongo(operation), startRate, maxRate, rateFactor, sloP99Ms, warmup, duration);
+
+        System.out.println();
+        System.out.println("=== OPEN LOOP LOAD BENCHMARKS FINISHED ===");
+
+        return new OpenLoopTestOutputDto(
+                operation,
+                sloP99Ms,
+                maxSustainable(pgResults),
+                maxSustainable(mongoResults),
+                pgResults,
+                mongoResults
+        );
+    }
+
+    /**
+     * Pro Stufe schreiben {@code concurrency} virtuelle Threads dieselbe Parish: Postgres und Mongo per
+     * versioniertem Read-Modify-Write mit Retry, dazu Mongo mit einem gezielten atomaren Update.
+     */
+    public ContentionTestOutputDto runContentionBenchmarks(List<Integer> concurrencies, Duration warmup, Duration duration) {
+        System.out.println("=== CONTENTION BENCHMARKS STARTED ===");
+
+        Runnable postgres = loadTargets.postgresContention();
+        Runnable mongoSave = loadTargets.mongoSaveContention();
+        Runnable mongoTargeted = loadTargets.mongoTargetedContention();
+
+        List<ContentionLevelDto> levels = new ArrayList<>();
+
+        for (int concurrency : concurrencies) {
+            System.out.println();
+            System.out.println("========== CONCURRENCY = " + concurrency + " ==========");
+
+            ContentionResultDto pgResult = contend(postgres, concurrency, warmup, duration);
+            ContentionResultDto mongoSaveResult = contend(mongoSave, concurrency, warmup, duration);
+            ContentionResultDto mongoTargetedResult = contend(mongoTargeted, concurrency, warmup, duration);
+
+            print("Postgres       ", pgResult);
+            print("MongoDB save   ", mongoSaveResult);
+            print("MongoDB $[p]   ", mongoTargetedResult);
+
+            levels.add(new ContentionLevelDto(concurrency, pgResult, mongoSaveResult, mongoTargetedResult));
+        }
+
+        System.out.println();
+        System.out.println("=== CONTENTION BENCHMARKS FINISHED ===");
+
+        return new ContentionTestOutputDto(duration.toMillis() / 1000.0, optimisticRetryProperties.maxAttempts(), levels);
+    }
+
+    /** Konflikte werden über die ganze Stufe inkl. Warmup gezählt, daher auch die Aufrufe */
+    private ContentionResultDto contend(Runnable operation, int concurrency, Duration warmup, Duration duration) {
+        LongAdder invocations = new LongAdder();
+        long conflictsBefore = optimisticRetryExecutor.conflicts();
+        long exhaustedBefore = optimisticRetryExecutor.exhausted();
+
+        LoadLevelResultDto result = closedLoopLoadGenerator.run(() -> {
+            invocations.increment();
+            operation.run();
+        }, concurrency, warmup, duration);
+
+        long conflicts = optimisticRetryExecutor.conflicts() - conflictsBefore;
+        long calls = invocations.sum();
+
+        return new ContentionResultDto(
+                result.operations(),
+                result.errors(),
+                result.throughputOpsPerSec(),
+                conflicts,
+                optimisticRetryExecutor.exhausted() - exhaustedBefore,
+                calls == 0 ? 0.0 : (double) conflicts / calls,
+                result.latency()
+        );
+    }
+
+    /**
+     * Schickt echte HTTP-Requests an {@code path} auf dem eigenen Server und schaltet pro Stufe den
+     * Request-Executor zwischen Plattform-Thread-Pool und virtuellen Threads um. Danach gilt wieder
+     * der vorherige Modus.
+     */
+    public ThreadModelTestOutputDto runThreadModelBenchmarks(String path, int maxConcurrency, Duration warmup, Duration duration) {
+        System.out.println("=== THREAD MODEL BENCHMARKS STARTED (" + path + ") ===");
+
+        int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        ThreadModel previous = requestExecutor.getModel();
+        List<ThreadModelLevelDto> levels = new ArrayList<>();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .build()) {
+
+            Runnable operation = () -> {
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 400) {
+                        throw new IllegalStateException("HTTP " + response.statusCode());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            };
+
+            for (int concurrency : concurrencyLevels(maxConcurrency)) {
+                System.out.println();
+                System.out.println("========== CONCURRENCY = " + concurrency + " ==========");
+
+                ThreadModelResultDto platform = serve(ThreadModel.PLATFORM, operation, concurrency, warmup, duration);
+                ThreadModelResultDto virtual = serve(ThreadModel.VIRTUAL, operation, concurrency, warmup, duration);
+
+                print("Platform", platform);
+                print("Virtual ", virtual);
+
+                levels.add(new ThreadModelLevelDto(concurrency, platform, virtual));
+            }
+        } finally {
+            requestExecutor.setModel(previous);
+        }
+
+        System.out.println();
+        System.out.println("=== THREAD MODEL BENCHMARKS FINISHED ===");
+
+        return new ThreadModelTestOutputDto(
+                path,
+                requestExecutor.getPlatformPoolSize(),
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10),
+                duration.toMillis() / 1000.0,
+                levels
+        );
+    }
+
+    /** Peak-Threads zählt nur Plattform-Threads, virtuelle Threads tauchen im ThreadMXBean nicht auf */
+    private ThreadModelResultDto serve(ThreadModel model, Runnable operation, int concurrency, Duration warmup, Duration duration) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        requestExecutor.setModel(model);
+        threads.resetPeakThreadCount();
+        long pinnedBefore = pinningMonitor.pinnedEvents();
+
+        LoadLevelResultDto result = closedLoopLoadGenerator.run(operation, concurrency, warmup, duration);
+
+        return new ThreadModelResultDto(result, threads.getPeakThreadCount(), pinningMonitor.pinnedEvents() - pinnedBefore);
+    }
+
+    /**
+     * Gleiche Mongo-Operation einmal über den blockierenden Treiber (ein virtueller Thread pro Client)
+     * und einmal über den Reactive-Streams-Treiber (kein Thread pro Client).
+     */
+    public ReactiveTestOutputDto runReactiveBenchmarks(LoadOperation operation, int maxConcurrency, Duration warmup, Duration duration) {
+        System.out.println("=== REACTIVE BENCHMARKS STARTED (" + operation + ") ===");
+
+        Runnable blocking = loadTargets.mongoBlocking(operation);
+        Supplier<Mono<?>> reactive = loadTargets.mongoReactive(operation);
+
+        List<ReactiveLevelDto> levels = new ArrayList<>();
+
+        for (int concurrency : concurrencyLevels(maxConcurrency)) {
+            System.out.println();
+            System.out.println("========== CONCURRENCY = " + concurrency + " ==========");
+
+            ReactiveResultDto blockingResult = measure(() -> closedLoopLoadGenerator.run(blocking, concurrency, warmup, duration));
+            ReactiveResultDto reactiveResult = measure(() -> reactiveClosedLoopLoadGenerator.run(reactive, concurrency, warmup, duration));
+
+            print("Blocking", blockingResult);
+            print("Reactive", reactiveResult);
+
+            levels.add(new ReactiveLevelDto(concurrency, blockingResult, reactiveResult));
+        }
+
+        System.out.println();
+        System.out.println("=== REACTIVE BENCHMARKS FINISHED ===");
+
+        return new ReactiveTestOutputDto(operation, duration.toMillis() / 1000.0, levels);
+    }
+
+    /**
+     * Peak-Heap ist die Summe der Peaks aller Heap-Pools seit dem Reset – die Pools erreichen ihren Peak nicht
+     * unbedingt gleichzeitig, der Wert ist also eine Obergrenze. Das GC davor sorgt für einen vergleichbaren Start.
+     */
+    private ReactiveResultDto measure(Supplier<LoadLevelResultDto> run) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        threads.resetPeakThreadCount();
+
+        LoadLevelResultDto result = run.get();
+
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new ReactiveResultDto(result, peakHeapBytes / (1024.0 * 1024.0), threads.getPeakThreadCount());
+    }
+
+    private List<OpenLoopRateResultDto> sweepRates(
+            Runnable operation,
+            double startRate,
+            double maxRate,
+            double rateFactor,
+            double sloP99Ms,
+            Duration warmup,
+            Duration duration
+    ) {
+        List<OpenLoopRateResultDto> results = new ArrayList<>();
+
+        for (double rate = startRate; rate <= maxRate; rate *= rateFactor) {
+            OpenLoopRateResultDto result = openLoopLoadGenerator.run(operation, rate, warmup, duration, sloP99Ms);
+            results.add(result);
+
+            System.out.printf(Locale.ROOT, "target %.1f ops/s : achieved %.1f ops/s, p99 %.3f ms (service p99 %.3f ms), errors %d, dropped %d%s%n",
+                    rate, result.achievedOpsPerSec(), result.latency().p99Ms(), result.serviceTime().p99Ms(),
+                    result.errors(), result.dropped(), result.withinSlo() ? "" : "  <-- SLO broken");
+
+            if (!result.withinSlo()) {
+                break;
+            }
+        }
+
+        return results;
+    }
+
+    private static Double maxSustainable(List<OpenLoopRateResultDto> results) {
+        return results.stream()
+                .filter(OpenLoopRateResultDto::withinSlo)
+                .map(OpenLoopRateResultDto::achievedOpsPerSec)
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    static List<Integer> concurrencyLevels(int maxConcurrency) {
+        List<Integer> levels = new ArrayList<>();
+
+        for (int level = 1; level < maxConcurrency; level *= 2) {
+            levels.add(level);
+        }
+        levels.add(maxConcurrency);
+
+        return levels;
+    }
+
+    private void print(String label, LoadLevelResultDto result) {
+        System.out.printf(Locale.ROOT, "%s : %.1f ops/s, p50 %.3f ms, p99 %.3f ms, errors %d%n",
+                label, result.throughputOpsPerSec(), result.latency().p50Ms(), result.latency().p99Ms(), result.errors());
+    }
+
+    private void print(String label, ContentionResultDto result) {
+        System.out.printf(Locale.ROOT, "%s : %.1f ops/s, p50 %.3f ms, p99 %.3f ms, %.3f retries/op, errors %d%n",
+                label, result.throughputOpsPerSec(), result.latency().p50Ms(), result.latency().p99Ms(), result.retriesPerOperation(), result.errors());
+    }
+
+    private void print(String label, ThreadModelResultDto result) {
+        System.out.printf(Locale.ROOT, "%s : %.1f ops/s, p50 %.3f ms, p99 %.3f ms, errors %d, peak platform threads %d, pinned %d%n",
+                label, result.load().throughputOpsPerSec(), result.load().latency().p50Ms(), result.load().latency().p99Ms(),
+                result.load().errors(), result.peakPlatformThreads(), result.pinnedEvents());
+    }
+
+    private void print(String label, ReactiveResultDto result) {
+        System.out.printf(Locale.ROOT, "%s : %.1f ops/s, p50 %.3f ms, p99 %.3f ms, errors %d, peak heap %.1f MB, peak platform threads %d%n",
+                label, result.load().throughputOpsPerSec(), result.load().latency().p50Ms(), result.load().latency().p99Ms(),
+                result.load().errors(), result.peakHeapMb(), result.peakPlatformThreads());
+    }
+}
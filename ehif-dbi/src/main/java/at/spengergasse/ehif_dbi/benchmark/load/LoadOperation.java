@@ -0,0 +1,8 @@
+package at.spengergasse.ehif_dbi.benchmark.load;
+
+public enum LoadOperation {
+    READ_BY_ID,
+    RANGE_READ,
+    INSERT,
+    EMBEDDED_UPDATE
+}
@@ -0,0 +1,291 @@
+package at.spengergasse.ehif_dbi.benchmark.load;
+
+import at.spengergasse.ehif_dbi.benchmark.data.SyntheticDataGenerator;
+import at.spengergasse.ehif_dbi.commands.mongo.AddParishionerEmbeddedCommand;
+import at.spengergasse.ehif_dbi.commands.mongo.UpdateParishionerEmbeddedCommand;
+import at.spengergasse.ehif_dbi.commands.postgres.CreateParishCommand;
+import at.spengergasse.ehif_dbi.commands.postgres.UpdateParishCommand;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishionerEmbedded;
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.persistence.mongo.ParishDocumentRepository;
+import at.spengergasse.ehif_dbi.persistence.mongo.ReactiveParishDocumentRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.ParishRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.ParishionerRepository;
+import at.spengergasse.ehif_dbi.service.mongo.ParishDocumentService;
+import at.spengergasse.ehif_dbi.service.mongo.ReactiveParishDocumentService;
+import at.spengergasse.ehif_dbi.service.postgres.ParishService;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Liefert pro {@link LoadOperation} die Postgres- bzw. Mongo-Variante als {@link Runnable}.
+ * Für Zugriffe per Id wird vorher eine Stichprobe vorhandener Ids geladen.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoadTargets {
+
+    private static final int ID_SAMPLE_SIZE = 10_000;
+    private static final int RANGE_WIDTH = 5;
+
+    private final ParishService parishService;
+    private final ParishDocumentService parishDocumentService;
+    private final ParishRepository parishRepository;
+    private final ParishionerRepository parishionerRepository;
+    private final ParishDocumentRepository parishDocumentRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ReactiveParishDocumentService reactiveParishDocumentService;
+    private final ReactiveParishDocumentRepository reactiveParishDocumentRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public Runnable postgres(LoadOperation operation) {
+        return switch (operation) {
+            case READ_BY_ID -> {
+                List<Parish.ParishId> ids = samplePostgresIds();
+                yield () -> parishService.getParishById(pick(ids));
+            }
+            case RANGE_READ -> () -> {
+                int year = randomYear();
+                parishRepository.findAllByFoundedYearBetween(year, year + RANGE_WIDTH);
+            };
+            case INSERT -> () -> parishService.createParish(
+                    new CreateParishCommand("LOAD_Name", "LOAD_Location", randomYear())
+            );
+            case EMBEDDED_UPDATE -> {
+                List<Parish.ParishId> ids = samplePostgresIds();
+                yield () -> transactionTemplate.executeWithoutResult(status ->
+                        parishionerRepository.save(Parishioner.builder()
+                                .firstName("LOAD_FirstName")
+                                .lastName("LOAD_LastName")
+                                .birthDate(LocalDate.of(1990, 1, 1))
+                                .parish(parishRepository.getReferenceById(pick(ids)))
+                                .build())
+                );
+            }
+        };
+    }
+
+    public Runnable mongo(LoadOperation operation) {
+        return switch (operation) {
+            case READ_BY_ID -> {
+                List<ObjectId> ids = sampleMongoIds();
+                yield () -> parishDocumentService.getParishDocumentById(pick(ids));
+            }
+            case RANGE_READ -> () -> {
+                int year = randomYear();
+                parishDocumentRepository.findAllByFoundedYearBetween(year, year + RANGE_WIDTH);
+            };
+            case INSERT -> () -> parishDocumentService.createParishDocument(
+                    new ParishDocumentDto(null, "LOAD_Name", "LOAD_Location", randomYear(), List.of(), List.of())
+            );
+            case EMBEDDED_UPDATE -> {
+                List<ObjectId> ids = sampleMongoIds();
+                yield () -> parishDocumentService.addParishioner(
+                        pick(ids),
+                        new AddParishionerEmbeddedCommand("LOAD_FirstName", "LOAD_LastName", LocalDate.of(1990, 1, 1))
+                );
+            }
+        };
+    }
+
+    // ============================================================
+    // REACTIVE – blockierender und reaktiver Mongo-Zugriff mit denselben Abfragen, beide ohne Read-Through-Cache
+    // ============================================================
+
+    public Runnable mongoBlocking(LoadOperation operation) {
+        return switch (operation) {
+            case READ_BY_ID -> {
+                List<ObjectId> ids = sampleMongoIds();
+                yield () -> parishDocumentRepository.findById(pick(ids)).map(ParishDocumentDto::new);
+            }
+            case RANGE_READ, INSERT -> mongo(operation);
+            case EMBEDDED_UPDATE -> {
+                List<ObjectId> ids = sampleMongoIds();
+                yield () -> mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(pick(ids))),
+                        loadParishionerPush(),
+                        ParishDocument.class
+                );
+            }
+        };
+    }
+
+    public Supplier<Mono<?>> mongoReactive(LoadOperation operation) {
+        return switch (operation) {
+            case READ_BY_ID -> {
+                List<ObjectId> ids = sampleMongoIds();
+                yield () -> reactiveParishDocumentService.getParishDocumentById(pick(ids));
+            }
+            case RANGE_READ -> () -> {
+                int year = randomYear();
+                return reactiveParishDocumentRepository.findAllByFoundedYearBetween(year, year + RANGE_WIDTH).then();
+            };
+            case INSERT -> () -> reactiveParishDocumentService.createParishDocument(
+                    new ParishDocumentDto(null, "LOAD_Name", "LOAD_Location", randomYear(), List.of(), List.of())
+            );
+            case EMBEDDED_UPDATE -> {
+                List<ObjectId> ids = sampleMongoIds();
+                yield () -> reactiveMongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(pick(ids))),
+                        loadParishionerPush(),
+                        ParishDocument.class
+                );
+            }
+        };
+    }
+
+    private static Update loadParishionerPush() {
+        return new Update()
+                .push("parishioners", ParishionerEmbedded.builder()
+                        .id(new ObjectId())
+                        .firstName("LOAD_FirstName")
+                        .lastName("LOAD_LastName")
+                        .birthDate(LocalDate.of(1990, 1, 1))
+                        .build())
+                .inc("version", 1);
+    }
+
+    /** Wählt pro Aufruf eine Operation zufällig entsprechend der Gewichte in {@code mix} */
+    public Runnable postgres(Map<LoadOperation, Double> mix) {
+        return mixed(mix, this::postgres);
+    }
+
+    public Runnable mongo(Map<LoadOperation, Double> mix) {
+        return mixed(mix, this::mongo);
+    }
+
+    private static Runnable mixed(Map<LoadOperation, Double> mix, Function<LoadOperation, Runnable> targets) {
+        List<Map.Entry<LoadOperation, Double>> weighted = mix.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .toList();
+
+        if (weighted.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Operation mix needs at least one positive ratio");
+        }
+
+        Runnable[] operations = new Runnable[weighted.size()];
+        double[] cumulative = new double[weighted.size()];
+        double total = 0;
+
+        for (int i = 0; i < weighted.size(); i++) {
+            operations[i] = targets.apply(weighted.get(i).getKey());
+            total += weighted.get(i).getValue();
+            cumulative[i] = total;
+        }
+
+        double sum = total;
+        return () -> {
+            double x = ThreadLocalRandom.current().nextDouble(sum);
+            for (int i = 0; i < operations.length; i++) {
+                if (x < cumulative[i]) {
+                    operations[i].run();
+                    return;
+                }
+            }
+            operations[operations.length - 1].run();
+        };
+    }
+
+    // ============================================================
+    // CONTENTION – alle Threads schreiben dieselbe Parish, jeder Aufruf mit neuem Wert, damit tatsächlich geschrieben wird
+    // ============================================================
+
+    /** Versioniertes Read-Modify-Write über ParishService, Konflikte werden wiederholt */
+    public Runnable postgresContention() {
+        Parish.ParishId id = requireIds(parishRepository.findIds(Limit.of(1))).getFirst();
+        AtomicLong revision = new AtomicLong();
+
+        return () -> parishService.updateParish(id, new UpdateParishCommand(
+                "CONTENTION_Name_" + revision.incrementAndGet(), "CONTENTION_Location", randomYear()
+        ));
+    }
+
+    /** Ganzes Dokument laden und mit save() zurückschreiben, Konflikte werden wiederholt */
+    public Runnable mongoSaveContention() {
+        ParishDocumentDto parish = new ParishDocumentDto(hotParishDocument());
+        AtomicLong revision = new AtomicLong();
+
+        return () -> parishDocumentService.updateParishDocument(new ParishDocumentDto(
+                parish.id(),
+                "CONTENTION_Name_" + revision.incrementAndGet(),
+                "CONTENTION_Location",
+                randomYear(),
+                parish.priests(),
+                parish.parishioners()
+        ));
+    }
+
+    /** Gezieltes $set auf einen eingebetteten Parishioner, atomar auf dem Server und damit ohne Konflikte */
+    public Runnable mongoTargetedContention() {
+        ParishDocument parish = hotParishDocument();
+        ObjectId parishionerId = parish.getParishioners().getFirst().getId();
+        AtomicLong revision = new AtomicLong();
+
+        return () -> parishDocumentService.updateParishioner(parish.getId(), parishionerId, new UpdateParishionerEmbeddedCommand(
+                "CONTENTION_FirstName_" + revision.incrementAndGet(), "CONTENTION_LastName", LocalDate.of(1990, 1, 1)
+        ));
+    }
+
+    private ParishDocument hotParishDocument() {
+        ParishDocument parish = mongoTemplate.findOne(
+                Query.query(Criteria.where("parishioners.0").exists(true)),
+                ParishDocument.class
+        );
+
+        if (parish == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No parish document with parishioners to run contention against, run the write benchmarks first");
+        }
+        return parish;
+    }
+
+    private List<Parish.ParishId> samplePostgresIds() {
+        return requireIds(parishRepository.findIds(Limit.of(ID_SAMPLE_SIZE)));
+    }
+
+    private List<ObjectId> sampleMongoIds() {
+        Query query = new Query().limit(ID_SAMPLE_SIZE);
+        query.fields().include("_id");
+
+        return requireIds(mongoTemplate.find(query, ParishDocument.class).stream()
+                .map(ParishDocument::getId)
+                .toList());
+    }
+
+    private static <T> List<T> requireIds(List<T> ids) {
+        if (ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No parishes to run load against, run the write benchmarks first");
+        }
+        return ids;
+    }
+
+    private static <T> T pick(List<T> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static int randomYear() {
+        return SyntheticDataGenerator.FIRST_YEAR + ThreadLocalRandom.current().nextInt(SyntheticDataGenerator.YEAR_SPREAD);
+    }
+}
@@ -0,0 +1,106 @@
+package at.spengergasse.ehif_dbi.benchmark.load;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.LatencyStatsDto;
+import at.spengergasse.ehif_dbi.benchmark.dto.OpenLoopRateResultDto;
+import at.spengergasse.ehif_dbi.benchmark.measurement.LatencyRecorder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open Loop mit konstanter Ankunftsrate: Operation i ist für {@code start + i * interval}
+ * geplant und wird unabhängig davon gestartet, ob frühere Operationen schon fertig sind.
+ * Die Latenz wird ab dem geplanten Startzeitpunkt gemessen (Coordinated-Omission-Korrektur),
+ * die reine Service-Zeit ab dem tatsächlichen Start wird zusätzlich ausgewiesen.
+ */
+@Component
+public class OpenLoopLoadGenerator {
+
+    /** Schutz gegen unbegrenzt viele hängende Threads, wenn der Store komplett steht */
+    private static final int MAX_OUTSTANDING = 10_000;
+
+    public OpenLoopRateResultDto run(Runnable operation, double targetOpsPerSec, Duration warmup, Duration duration, double sloP99Ms) {
+        LatencyRecorder responseTimes = new LatencyRecorder();
+        LatencyRecorder serviceTimes = new LatencyRecorder();
+        LongAdder completedInWindow = new LongAdder();
+        LongAdder errors = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger outstanding = new AtomicInteger();
+
+        long intervalNanos = Math.max(1, (long) (1_000_000_000.0 / targetOpsPerSec));
+        long scheduleStart = System.nanoTime();
+        long measureStart = scheduleStart + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = scheduleStart + i * intervalNanos;
+                if (intendedStart >= measureEnd) {
+                    break;
+                }
+
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                boolean measured = intendedStart >= measureStart;
+
+                if (outstanding.incrementAndGet() > MAX_OUTSTANDING) {
+                    outstanding.decrementAndGet();
+                    if (measured) {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+
+                executor.submit(() -> {
+                    long actualStart = System.nanoTime();
+                    boolean failed = false;
+                    try {
+                        operation.run();
+                    } catch (RuntimeException e) {
+                        failed = true;
+                    } finally {
+                        outstanding.decrementAndGet();
+                    }
+                    long end = System.nanoTime();
+
+                    if (!measured) {
+                        return;
+                    }
+                    if (failed) {
+                        errors.increment();
+                        return;
+                    }
+
+                    responseTimes.recordNanos(end - intendedStart);
+                    serviceTimes.recordNanos(end - actualStart);
+                    if (end <= measureEnd) {
+                        completedInWindow.increment();
+                    }
+                });
+            }
+        }
+
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        LatencyStatsDto latency = responseTimes.toStats();
+        boolean withinSlo = errors.sum() == 0 && dropped.sum() == 0 && latency.p99Ms() <= sloP99Ms;
+
+        return new OpenLoopRateResultDto(
+                targetOpsPerSec,
+                completedInWindow.sum() / seconds,
+                responseTimes.count(),
+                errors.sum(),
+                dropped.sum(),
+                latency,
+                serviceTimes.toStats(),
+                withinSlo
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package at.spengergasse.ehif_dbi.benchmark.load;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.LoadLevelResultDto;
+import at.spengergasse.ehif_dbi.benchmark.measurement.LatencyRecorder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Closed Loop wie {@link ClosedLoopLoadGenerator}, aber ohne Thread pro Client: {@code concurrency}
+ * Ketten laufen gleichzeitig, jede abonniert die nächste Operation erst, wenn die vorige fertig ist.
+ * Die Callbacks laufen auf den Threads des Treibers, nur der Aufrufer wartet blockierend auf das Ende.
+ */
+@Component
+public class ReactiveClosedLoopLoadGenerator {
+
+    public LoadLevelResultDto run(Supplier<Mono<?>> operation, int concurrency, Duration warmup, Duration duration) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        LongAdder errors = new LongAdder();
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+
+        Mono<Void> timedOperation = Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return Mono.defer(operation)
+                    .then()
+                    .doOnSuccess(ignored -> {
+                        if (start >= measureStart) {
+                            recorder.recordNanos(System.nanoTime() - start);
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        if (start >= measureStart) {
+                            errors.increment();
+                        }
+                        return Mono.empty();
+                    });
+        });
+
+        Flux.range(0, concurrency)
+                .flatMap(client -> timedOperation.repeat(() -> System.nanoTime() < measureEnd), concurrency)
+                .blockLast();
+
+        long operations = recorder.count();
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+
+        return new LoadLevelResultDto(concurrency, operations, errors.sum(), operations / seconds, recorder.toStats());
+    }
+}
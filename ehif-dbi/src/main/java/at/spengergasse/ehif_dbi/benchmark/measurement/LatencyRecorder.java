@@ -0,0 +1,54 @@
+package at.spengergasse.ehif_dbi.benchmark.measurement;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.LatencyStatsDto;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sammelt Latenzen in Nanosekunden in einem HdrHistogram (3 signifikante Stellen)
+ * und fasst sie zu einem {@link LatencyStatsDto} in Millisekunden zusammen.
+ * Darf von mehreren Threads gleichzeitig beschrieben werden.
+ */
+public class LatencyRecorder {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Histogram histogram = new ConcurrentHistogram(3);
+
+    public void recordNanos(long nanos) {
+        histogram.recordValue(Math.max(nanos, 0));
+    }
+
+    public long count() {
+        return histogram.getTotalCount();
+    }
+
+    public LatencyStatsDto toStats() {
+        long n = histogram.getTotalCount();
+        if (n == 0) {
+            return LatencyStatsDto.empty();
+        }
+
+        double mean = histogram.getMean();
+        double populationStdDev = histogram.getStdDeviation();
+        double sampleStdDev = n > 1 ? populationStdDev * Math.sqrt((double) n / (n - 1)) : 0.0;
+        double halfWidth = n > 1 ? StudentT.criticalValue95(n - 1) * sampleStdDev / Math.sqrt(n) : 0.0;
+
+        return new LatencyStatsDto(
+                n,
+                toMillis(histogram.getMinValue()),
+                toMillis(histogram.getValueAtPercentile(50)),
+                toMillis(histogram.getValueAtPercentile(90)),
+                toMillis(histogram.getValueAtPercentile(99)),
+                toMillis(histogram.getMaxValue()),
+                toMillis(mean),
+                toMillis(sampleStdDev),
+                toMillis(mean - halfWidth),
+                toMillis(mean + halfWidth)
+        );
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,50 @@
+package at.spengergasse.ehif_dbi.benchmark.measurement;
+
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProperties;
+import at.spengergasse.ehif_dbi.benchmark.dto.LatencyStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Führt eine Operation mit Warmup- und Mess-Iterationen aus. {@code beforeEach} läuft
+ * vor jeder Iteration (auch im Warmup) und wird nicht mitgemessen.
+ * Wird der Thread unterbrochen (Job abgebrochen), endet die Messung vor der nächsten Iteration.
+ */
+@Component
+@RequiredArgsConstructor
+public class MeasurementEngine {
+
+    private final BenchmarkProperties benchmarkProperties;
+
+    public LatencyStatsDto measure(Runnable beforeEach, Runnable action) {
+        return measure(benchmarkProperties.measurementSettings(), beforeEach, action);
+    }
+
+    public LatencyStatsDto measure(MeasurementSettings settings, Runnable beforeEach, Runnable action) {
+        for (int i = 0; i < settings.warmupIterations(); i++) {
+            checkInterrupted();
+            beforeEach.run();
+            action.run();
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        for (int i = 0; i < settings.measuredIterations(); i++) {
+            checkInterrupted();
+            beforeEach.run();
+            long start = System.nanoTime();
+            action.run();
+            recorder.recordNanos(System.nanoTime() - start);
+        }
+
+        return recorder.toStats();
+    }
+
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Measurement interrupted");
+        }
+    }
+}
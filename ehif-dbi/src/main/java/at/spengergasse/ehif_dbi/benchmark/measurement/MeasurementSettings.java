@@ -0,0 +1,8 @@
+package at.spengergasse.ehif_dbi.benchmark.measurement;
+
+import jakarta.validation.constraints.Min;
+
+public record MeasurementSettings(
+        @Min(0) int warmupIterations,
+        @Min(1) int measuredIterations
+) {}
@@ -0,0 +1,34 @@
+package at.spengergasse.ehif_dbi.benchmark.measurement;
+
+/**
+ * Zweiseitige 95%-Quantile der t-Verteilung (Cornish-Fisher-Näherung, exakt genug ab df = 3).
+ */
+public final class StudentT {
+
+    private static final double Z_975 = 1.959963984540054;
+
+    private StudentT() {}
+
+    public static double criticalValue95(double degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            return Double.NaN;
+        }
+        if (degreesOfFreedom < 1.5) {
+            return 12.706;
+        }
+        if (degreesOfFreedom < 2.5) {
+            return 4.303;
+        }
+
+        double z = Z_975;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        double z7 = z5 * z * z;
+        double df = degreesOfFreedom;
+
+        return z
+                + (z3 + z) / (4 * df)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * df * df)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * df * df * df);
+    }
+}
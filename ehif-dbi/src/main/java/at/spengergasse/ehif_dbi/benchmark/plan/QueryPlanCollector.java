@@ -0,0 +1,137 @@
+package at.spengergasse.ehif_dbi.benchmark.plan;
+
+import at.spengergasse.ehif_dbi.benchmark.dto.QueryPlanDto;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holt zu einer Abfrage den tatsächlichen Ausführungsplan: EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) bzw.
+ * explain mit executionStats. Beide führen die Abfrage wirklich aus, daher nur außerhalb der Messung aufrufen.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryPlanCollector {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    // ============================================================
+    // POSTGRES
+    // ============================================================
+
+    public QueryPlanDto explainPostgres(String query, String sql, Object... args) {
+        JsonNode raw = readTree(jdbcTemplate.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql, String.class, args));
+        JsonNode root = raw.path(0);
+        JsonNode plan = root.path("Plan");
+
+        List<String> nodes = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        long rowsExamined = collectPostgresNodes(plan, nodes, indexes);
+
+        return new QueryPlanDto(
+                "POSTGRES",
+                query,
+                plan.path("Actual Rows").asLong(),
+                rowsExamined,
+                null,
+                indexes,
+                nodes,
+                plan.path("Shared Hit Blocks").asLong(),
+                plan.path("Shared Read Blocks").asLong(),
+                root.path("Execution Time").asDouble(),
+                raw
+        );
+    }
+
+    /** Untersuchte Zeilen = gelieferte + weggefilterte Zeilen aller Scan-Knoten; die Werte sind pro Loop gemittelt */
+    private long collectPostgresNodes(JsonNode node, List<String> nodes, List<String> indexes) {
+        nodes.add(node.path("Node Type").asText());
+        if (node.has("Index Name")) {
+            indexes.add(node.path("Index Name").asText());
+        }
+
+        long rowsExamined = 0;
+        if (node.has("Relation Name")) {
+            rowsExamined = (node.path("Actual Rows").asLong()
+                    + node.path("Rows Removed by Filter").asLong()
+                    + node.path("Rows Removed by Index Recheck").asLong())
+                    * node.path("Actual Loops").asLong(1);
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            rowsExamined += collectPostgresNodes(child, nodes, indexes);
+        }
+        return rowsExamined;
+    }
+
+    // ============================================================
+    // MONGO
+    // ============================================================
+
+    public QueryPlanDto explainMongo(String query, Query mongoQuery) {
+        return mongoPlan(query, collection()
+                .find(mongoQuery.getQueryObject())
+                .projection(mongoQuery.getFieldsObject())
+                .sort(mongoQuery.getSortObject())
+                .explain(ExplainVerbosity.EXECUTION_STATS));
+    }
+
+    /** allowDiskUse null = Server-Default */
+    public QueryPlanDto explainMongo(String query, Aggregation aggregation, Boolean allowDiskUse) {
+        AggregateIterable<Document> pipeline = collection().aggregate(aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT));
+        if (allowDiskUse != null) {
+            pipeline = pipeline.allowDiskUse(allowDiskUse);
+        }
+        return mongoPlan(query, pipeline.explain(ExplainVerbosity.EXECUTION_STATS));
+    }
+
+    /** find liefert executionStats auf oberster Ebene, aggregate je nach Pushdown unter stages[0].$cursor */
+    private QueryPlanDto mongoPlan(String query, Document explain) {
+        JsonNode raw = readTree(explain.toJson());
+        JsonNode stats = raw.findValue("executionStats");
+        JsonNode winningPlan = raw.findValue("winningPlan");
+
+        return new QueryPlanDto(
+                "MONGO",
+                query,
+                stats == null ? null : stats.path("nReturned").asLong(),
+                stats == null ? null : stats.path("totalDocsExamined").asLong(),
+                stats == null ? null : stats.path("totalKeysExamined").asLong(),
+                winningPlan == null ? List.of() : winningPlan.findValuesAsText("indexName"),
+                winningPlan == null ? List.of() : winningPlan.findValuesAsText("stage"),
+                null,
+                null,
+                stats == null ? null : stats.path("executionTimeMillis").asDouble(),
+                raw
+        );
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(ParishDocument.class));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
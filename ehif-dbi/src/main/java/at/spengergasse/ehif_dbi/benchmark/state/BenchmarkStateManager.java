@@ -0,0 +1,157 @@
+package at.spengergasse.ehif_dbi.benchmark.state;
+
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Stellt vor jeder Phase einen definierten Zustand her. Alle Postgres-Befehle laufen auf einer
+ * eigenen Verbindung im Autocommit, weil VACUUM und DISCARD ALL nicht in einer Transaktion laufen dürfen –
+ * die Methoden dürfen daher nur außerhalb von Transaktionen aufgerufen werden.
+ * Shared Buffers bzw. den WiredTiger-Cache und den OS-Page-Cache kann man ohne Neustart nicht leeren;
+ * COLD bedeutet hier: keine Session-, Plan- oder Verbindungs-Caches.
+ */
+@Component
+@RequiredArgsConstructor
+public class BenchmarkStateManager {
+
+    private static final String TABLES = "parish_priest, parishioner, priest, parish";
+
+    private final DataSource dataSource;
+    private final MongoTemplate mongoTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<ReadThroughCache<?, ?>> readCaches;
+
+    /** Leert beide Stores: TRUNCATE + VACUUM ANALYZE, Mongo-Collection neu anlegen inkl. Indizes */
+    public void resetStores() {
+        requireNoTransaction();
+        System.out.println("-- STATE: reset stores");
+
+        execute("TRUNCATE TABLE " + TABLES);
+        execute("VACUUM ANALYZE " + TABLES);
+
+        mongoTemplate.dropCollection(ParishDocument.class);
+        mongoTemplate.createCollection(ParishDocument.class);
+        ensureMongoIndexes();
+
+        evictSecondLevelCache();
+        invalidateReadCaches();
+    }
+
+    /** Statistiken und Visibility-Map aktualisieren (z.B. nach Seed oder Updates), dann den Cache-Modus herstellen */
+    public void beforePhase(CacheMode cacheMode) {
+        requireNoTransaction();
+
+        execute("VACUUM ANALYZE " + TABLES);
+        invalidateReadCaches();
+
+        switch (cacheMode) {
+            case COLD -> cool();
+            case WARM -> warm();
+        }
+    }
+
+    /** Entity-, Collection- und Query-Regionen – TRUNCATE und COPY laufen an Hibernate vorbei */
+    public void evictSecondLevelCache() {
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+    }
+
+    /** Die Benchmarks schreiben an den Services vorbei, deren Caches würden sonst veraltete DTOs liefern */
+    public void invalidateReadCaches() {
+        readCaches.forEach(ReadThroughCache::invalidateAll);
+    }
+
+    // ============================================================
+    // CACHE-MODI
+    // ============================================================
+
+    private void cool() {
+        System.out.println("-- STATE: cold caches");
+
+        // Verbindungen werden bei Rückgabe an den Pool geschlossen, neue Sessions haben leere Caches
+        if (isHikari()) {
+            hikari().getHikariPoolMXBean().softEvictConnections();
+        }
+        execute("DISCARD ALL");
+
+        mongoTemplate.executeCommand(new Document("planCacheClear", mongoTemplate.getCollectionName(ParishDocument.class)));
+
+        evictSecondLevelCache();
+    }
+
+    private void warm() {
+        System.out.println("-- STATE: warm caches");
+
+        // Volle Scans ziehen Heap- bzw. Collection-Seiten in den Cache
+        execute("SELECT count(*) FROM parish");
+        execute("SELECT count(*) FROM priest");
+        execute("SELECT count(*) FROM parishioner");
+        execute("SELECT count(*) FROM parish_priest");
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ParishDocument.class))
+                .aggregate(List.of(new Document("$group", new Document("_id", null).append("n", new Document("$sum", 1)))))
+                .first();
+    }
+
+    // ============================================================
+    // HILFSMETHODEN
+    // ============================================================
+
+    private void ensureMongoIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexOperations indexOps = mongoTemplate.indexOps(ParishDocument.class);
+
+        IndexResolver.create(mappingContext)
+                .resolveIndexFor(ParishDocument.class)
+                .forEach(indexOps::ensureIndex);
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to execute: " + sql, e);
+        }
+    }
+
+    private boolean isHikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void requireNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Benchmark state must be prepared outside of a transaction");
+        }
+    }
+}
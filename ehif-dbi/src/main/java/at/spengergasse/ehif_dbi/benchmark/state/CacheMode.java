@@ -0,0 +1,16 @@
+package at.spengergasse.ehif_dbi.benchmark.state;
+
+import at.spengergasse.ehif_dbi.benchmark.measurement.MeasurementSettings;
+
+/**
+ * WARM: Daten einmal komplett gelesen, Warmup-Iterationen laufen.
+ * COLD: Sessions, Plan-Caches und Pool-Verbindungen verworfen, keine Warmup-Iterationen.
+ */
+public enum CacheMode {
+    WARM,
+    COLD;
+
+    public MeasurementSettings adjust(MeasurementSettings settings) {
+        return this == COLD ? new MeasurementSettings(0, settings.measuredIterations()) : settings;
+    }
+}
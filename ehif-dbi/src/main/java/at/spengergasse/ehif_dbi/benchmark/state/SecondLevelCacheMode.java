@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.benchmark.state;
+
+/**
+ * Zustand des Hibernate Second-Level-Cache während einer Messung.
+ * OFF: Session im CacheMode IGNORE, COLD: vor jeder Iteration geleert, WARM: durch die Warmup-Iterationen gefüllt.
+ */
+public enum SecondLevelCacheMode {
+    OFF,
+    COLD,
+    WARM
+}
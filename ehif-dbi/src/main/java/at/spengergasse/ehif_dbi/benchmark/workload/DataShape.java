@@ -0,0 +1,14 @@
+package at.spengergasse.ehif_dbi.benchmark.workload;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Mittlere Anzahl eingebetteter bzw. verknüpfter Priests/Parishioners pro Parish.
+ * Der Generator verteilt die tatsächliche Anzahl schief (exponentiell) um diesen Mittelwert.
+ */
+public record DataShape(
+        @Min(0) int priestsPerParish,
+        @Min(0) int parishionersPerParish
+) {
+    public static final DataShape FLAT = new DataShape(0, 0);
+}
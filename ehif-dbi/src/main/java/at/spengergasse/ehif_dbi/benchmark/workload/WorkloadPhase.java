@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.benchmark.workload;
+
+/** In dieser Reihenfolge werden die Phasen pro Scale ausgeführt */
+public enum WorkloadPhase {
+    WRITE,
+    READ,
+    AGGREGATION,
+    MIXED_LOAD,
+    UPDATE,
+    DELETE
+}
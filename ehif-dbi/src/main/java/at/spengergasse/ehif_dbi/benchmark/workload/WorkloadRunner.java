@@ -0,0 +1,136 @@
+package at.spengergasse.ehif_dbi.benchmark.workload;
+
+import at.spengergasse.ehif_dbi.benchmark.AggregationMemoryOptions;
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProgress;
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProperties;
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkRunner;
+import at.spengergasse.ehif_dbi.benchmark.dto.*;
+import at.spengergasse.ehif_dbi.benchmark.load.ClosedLoopLoadGenerator;
+import at.spengergasse.ehif_dbi.benchmark.load.LoadTargets;
+import at.spengergasse.ehif_dbi.benchmark.measurement.MeasurementSettings;
+import at.spengergasse.ehif_dbi.benchmark.state.BenchmarkStateManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Führt eine {@link WorkloadSpec} aus: für jede Scale werden die Stores neu befüllt
+ * und dann die gewählten Phasen in der Reihenfolge von {@link WorkloadPhase} gemessen.
+ * Jede Phase läuft über den BenchmarkRunner-Proxy in ihrer eigenen Transaktion,
+ * davor stellt der {@link BenchmarkStateManager} Statistiken und Cache-Modus her.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkloadRunner {
+
+    private final BenchmarkRunner benchmarkRunner;
+    private final BenchmarkProperties benchmarkProperties;
+    private final LoadTargets loadTargets;
+    private final ClosedLoopLoadGenerator closedLoopLoadGenerator;
+    private final BenchmarkStateManager benchmarkStateManager;
+
+    public WorkloadResultDto run(WorkloadSpec spec) {
+        return run(spec, BenchmarkProgress.NONE);
+    }
+
+    public WorkloadResultDto run(WorkloadSpec spec, BenchmarkProgress progress) {
+        System.out.println("=== WORKLOAD " + (spec.name() != null ? spec.name() + " " : "") + "STARTED ===");
+
+        MeasurementSettings settings = spec.cacheMode().adjust(spec.iterations() != null
+                ? spec.iterations()
+                : benchmarkProperties.measurementSettings());
+
+        List<WorkloadScaleResultDto> results = new ArrayList<>();
+
+        for (int scale : spec.scales()) {
+            System.out.println();
+            System.out.println("========== SCALE n = " + scale + ", " + spec.dataShape() + " ==========");
+
+            WorkloadScaleResultDto result = runScale(spec, scale, settings, progress);
+            progress.partialResult("SCALE@" + scale, result);
+
+            results.add(result);
+        }
+
+        System.out.println();
+        System.out.println("=== WORKLOAD FINISHED ===");
+
+        return new WorkloadResultDto(spec, results);
+    }
+
+    private WorkloadScaleResultDto runScale(WorkloadSpec spec, int scale, MeasurementSettings settings, BenchmarkProgress progress) {
+        WriteTestOutputDto writes = null;
+        ReadTestOutputDto reads = null;
+        AggregationTestOutputDto aggregations = null;
+        List<LoadLevelComparisonDto> mixedLoad = null;
+        UpdateTestOutputDto updates = null;
+        DeleteTestOutputDto deletes = null;
+
+        if (spec.phases().contains(WorkloadPhase.WRITE)) {
+            progress.phase("WRITE", scale);
+            benchmarkStateManager.resetStores();
+            benchmarkStateManager.beforePhase(spec.cacheMode());
+            writes = benchmarkRunner.runWritesForScale(scale, spec.dataShape(), settings);
+        }
+
+        // Writes hinterlassen den Stand der letzten Iteration, daher für alle folgenden Phasen neu befüllen
+        progress.phase("SEED", scale);
+        benchmarkStateManager.resetStores();
+        benchmarkRunner.seed(scale, spec.dataShape());
+
+        if (spec.phases().contains(WorkloadPhase.READ)) {
+            progress.phase("READ", scale);
+            benchmarkStateManager.beforePhase(spec.cacheMode());
+            reads = benchmarkRunner.runReadsForScale(scale, settings, false);
+        }
+        if (spec.phases().contains(WorkloadPhase.AGGREGATION)) {
+            progress.phase("AGGREGATION", scale);
+            benchmarkStateManager.beforePhase(spec.cacheMode());
+            aggregations = benchmarkRunner.runAggregationsForScale(settings, AggregationMemoryOptions.DEFAULT, false);
+        }
+        if (spec.phases().contains(WorkloadPhase.MIXED_LOAD)) {
+            progress.phase("MIXED_LOAD", scale);
+            benchmarkStateManager.beforePhase(spec.cacheMode());
+            mixedLoad = runMixedLoad(spec);
+        }
+        if (spec.phases().contains(WorkloadPhase.UPDATE)) {
+            progress.phase("UPDATE", scale);
+            benchmarkStateManager.beforePhase(spec.cacheMode());
+            updates = benchmarkRunner.runUpdatesForScale(settings);
+        }
+        if (spec.phases().contains(WorkloadPhase.DELETE)) {
+            progress.phase("DELETE", scale);
+            benchmarkStateManager.beforePhase(spec.cacheMode());
+            deletes = benchmarkRunner.runDeletesForScale(scale, spec.dataShape(), settings);
+        }
+
+        return new WorkloadScaleResultDto(scale, writes, reads, aggregations, mixedLoad, updates, deletes);
+    }
+
+    private List<LoadLevelComparisonDto> runMixedLoad(WorkloadSpec spec) {
+        System.out.println("-- MIXED LOAD " + spec.mix());
+
+        Runnable postgres = loadTargets.postgres(spec.mix());
+        Runnable mongo = loadTargets.mongo(spec.mix());
+        Duration warmup = Duration.ofSeconds(spec.warmupSeconds());
+        Duration duration = Duration.ofSeconds(spec.durationSeconds());
+
+        List<LoadLevelComparisonDto> levels = new ArrayList<>();
+
+        for (int concurrency : spec.concurrency()) {
+            LoadLevelResultDto pgResult = closedLoopLoadGenerator.run(postgres, concurrency, warmup, duration);
+            LoadLevelResultDto mongoResult = closedLoopLoadGenerator.run(mongo, concurrency, warmup, duration);
+
+            System.out.println("concurrency " + concurrency
+                    + " : Postgres " + Math.round(pgResult.throughputOpsPerSec()) + " ops/s"
+                    + ", MongoDB " + Math.round(mongoResult.throughputOpsPerSec()) + " ops/s");
+
+            levels.add(new LoadLevelComparisonDto(concurrency, pgResult, mongoResult));
+        }
+
+        return levels;
+    }
+}
@@ -0,0 +1,45 @@
+package at.spengergasse.ehif_dbi.benchmark.workload;
+
+import at.spengergasse.ehif_dbi.benchmark.load.LoadOperation;
+import at.spengergasse.ehif_dbi.benchmark.measurement.MeasurementSettings;
+import at.spengergasse.ehif_dbi.benchmark.state.CacheMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Beschreibt einen kompletten Benchmark-Lauf. Für jede Scale werden die Stores mit
+ * {@code dataShape} befüllt und die gewählten Phasen ausgeführt; die gemischte Last
+ * läuft zusätzlich für jede Stufe in {@code concurrency}.
+ * Vor jeder Phase wird der Zustand über {@code cacheMode} hergestellt (siehe {@link CacheMode}).
+ * Fehlende Felder bekommen Defaults, {@code iterations == null} heißt: Werte aus den Properties.
+ */
+public record WorkloadSpec(
+        String name,
+        @NotEmpty List<@Positive Integer> scales,
+        Set<WorkloadPhase> phases,
+        @Valid DataShape dataShape,
+        @Valid MeasurementSettings iterations,
+        Map<LoadOperation, @PositiveOrZero Double> mix,
+        List<@Positive Integer> concurrency,
+        @Min(0) Integer warmupSeconds,
+        @Positive Integer durationSeconds,
+        CacheMode cacheMode
+) {
+    public WorkloadSpec {
+        phases = phases == null || phases.isEmpty() ? EnumSet.allOf(WorkloadPhase.class) : EnumSet.copyOf(phases);
+        dataShape = dataShape == null ? DataShape.FLAT : dataShape;
+        mix = mix == null || mix.isEmpty() ? Map.of(LoadOperation.READ_BY_ID, 1.0) : Map.copyOf(mix);
+        concurrency = concurrency == null || concurrency.isEmpty() ? List.of(1) : List.copyOf(concurrency);
+        warmupSeconds = warmupSeconds == null ? 2 : warmupSeconds;
+        durationSeconds = durationSeconds == null ? 10 : durationSeconds;
+        cacheMode = cacheMode == null ? CacheMode.WARM : cacheMode;
+    }
+}
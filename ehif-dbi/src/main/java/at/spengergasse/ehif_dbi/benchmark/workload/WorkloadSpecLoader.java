@@ -0,0 +1,50 @@
+package at.spengergasse.ehif_dbi.benchmark.workload;
+
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/** Lädt die Workload aus {@code benchmark.workload-file} (classpath: oder file:) */
+@Component
+@RequiredArgsConstructor
+public class WorkloadSpecLoader {
+
+    private final BenchmarkProperties benchmarkProperties;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public WorkloadSpec loadConfigured() {
+        String location = benchmarkProperties.workloadFile();
+        if (location == null || location.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No workload posted and benchmark.workload-file is not set");
+        }
+
+        WorkloadSpec spec;
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            spec = objectMapper.readValue(in, WorkloadSpec.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not read workload file " + location, e);
+        }
+
+        Set<ConstraintViolation<WorkloadSpec>> violations = validator.validate(spec);
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid workload file " + location + ": " + violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        return spec;
+    }
+}
@@ -0,0 +1,11 @@
+package at.spengergasse.ehif_dbi.commands.postgres;
+
+import jakarta.validation.constraints.NotNull;
+
+/** Ohne id wird die Parish angelegt, mit id aktualisiert */
+public record BatchParishCommand(
+        Long id,
+        @NotNull String name,
+        @NotNull String location,
+        @NotNull Integer foundedYear
+) {}
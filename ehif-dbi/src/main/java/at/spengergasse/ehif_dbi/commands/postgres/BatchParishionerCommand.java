@@ -0,0 +1,13 @@
+package at.spengergasse.ehif_dbi.commands.postgres;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/** Ohne id wird der Parishioner angelegt, mit id aktualisiert */
+public record BatchParishionerCommand(
+        Long id,
+        @NotNull String firstName,
+        @NotNull String lastName,
+        @NotNull LocalDate birthDate
+) {}
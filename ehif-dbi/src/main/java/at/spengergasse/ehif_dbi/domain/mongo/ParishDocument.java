@@ -3,6 +3,7 @@ package at.spengergasse.ehif_dbi.domain.mongo;
 import lombok.*;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -18,6 +19,7 @@ import java.util.List;
 @Builder
 
 @Document(collection = "parishes")
+@CompoundIndex(name = "foundedYearIndexed_id", def = "{'foundedYearIndexed': 1, '_id': 1}")
 public class ParishDocument {
 
     @Id
@@ -28,6 +30,8 @@ public class ParishDocument {
     private Integer foundedYear;
     @Indexed
     private Integer foundedYearIndexed;
+    @Version
+    private Long version;
 
     @Builder.Default
     private List<PriestEmbedded> priests = new ArrayList<>();
@@ -3,6 +3,8 @@ package at.spengergasse.ehif_dbi.domain.postgres;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -16,7 +18,9 @@ import java.util.Set;
 @Builder
 
 @Entity
-@Table(name = "parish")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "parish")
+@Table(name = "parish", indexes = @Index(name = "ix_parish_founded_year_id", columnList = "founded_year, id"))
 public class Parish {
 
     @EmbeddedId
@@ -29,7 +33,11 @@ public class Parish {
 
     private Integer foundedYear;
 
+    @Version
+    private Long version;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "parish-priests")
     @JoinTable(
             name = "parish_priest",
             joinColumns = @JoinColumn(name = "parish_id"),
@@ -39,6 +47,7 @@ public class Parish {
     private Set<Priest> priests = new HashSet<>();
 
     @OneToMany(mappedBy = "parish", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "parish-parishioners")
     @Builder.Default
     private List<Parishioner> parishioners = new ArrayList<>();
 
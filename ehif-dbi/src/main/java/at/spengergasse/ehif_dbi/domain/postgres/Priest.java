@@ -3,6 +3,8 @@ package at.spengergasse.ehif_dbi.domain.postgres;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -15,6 +17,8 @@ import java.util.Set;
 @Builder
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "priest")
 @Table(name = "priest")
 public class Priest {
 
@@ -30,6 +34,7 @@ public class Priest {
     private LocalDate ordinationDate;
 
     @ManyToMany(mappedBy = "priests")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "priest-parishes")
     @Builder.Default
     private Set<Parish> parishes = new HashSet<>();
 
@@ -0,0 +1,35 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+/**
+ * Ergebnis eines Elements, {@code index} ist die Position im Request-Body (ab 0).
+ */
+public record BatchItemResultDto(
+        Integer index,
+        BatchItemStatus status,
+        String id,
+        String error
+) {
+    public static BatchItemResultDto created(int index, Object id) {
+        return new BatchItemResultDto(index, BatchItemStatus.CREATED, id.toString(), null);
+    }
+
+    public static BatchItemResultDto updated(int index, Object id) {
+        return new BatchItemResultDto(index, BatchItemStatus.UPDATED, id.toString(), null);
+    }
+
+    public static BatchItemResultDto notFound(int index, Object id) {
+        return new BatchItemResultDto(index, BatchItemStatus.NOT_FOUND, id.toString(), null);
+    }
+
+    public static BatchItemResultDto invalid(int index, String error) {
+        return new BatchItemResultDto(index, BatchItemStatus.INVALID, null, error);
+    }
+
+    public static BatchItemResultDto failed(int index, String error) {
+        return new BatchItemResultDto(index, BatchItemStatus.FAILED, null, error);
+    }
+
+    public boolean succeeded() {
+        return status == BatchItemStatus.CREATED || status == BatchItemStatus.UPDATED;
+    }
+}
@@ -0,0 +1,9 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    NOT_FOUND,
+    INVALID,
+    FAILED
+}
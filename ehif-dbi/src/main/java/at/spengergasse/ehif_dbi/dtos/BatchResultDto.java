@@ -0,0 +1,16 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+import java.util.List;
+
+public record BatchResultDto(
+        Integer total,
+        Integer succeeded,
+        Integer failed,
+        Integer chunks,
+        List<BatchItemResultDto> items
+) {
+    public static BatchResultDto of(List<BatchItemResultDto> items, int chunks) {
+        int succeeded = (int) items.stream().filter(BatchItemResultDto::succeeded).count();
+        return new BatchResultDto(items.size(), succeeded, items.size() - succeeded, chunks, items);
+    }
+}
@@ -0,0 +1,8 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+public record PinnedFrameDto(
+        String frame,
+        Long events,
+        Double totalMs
+) {
+}
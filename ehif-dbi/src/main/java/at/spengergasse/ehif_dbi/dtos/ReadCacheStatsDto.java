@@ -0,0 +1,16 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+public record ReadCacheStatsDto(
+        String name,
+        Long estimatedSize,
+        Long weightedSize,
+        Long maximumWeight,
+        Long hitCount,
+        Long missCount,
+        Double hitRate,
+        Long evictionCount,
+        Long evictionWeight,
+        Long loadCount,
+        Double averageLoadPenaltyMs
+) {
+}
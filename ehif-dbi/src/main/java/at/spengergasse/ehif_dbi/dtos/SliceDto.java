@@ -0,0 +1,27 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Eine Seite ohne Gesamtanzahl: {@code nextCursor} wird als {@code cursor} für die nächste Seite mitgeschickt.
+ */
+public record SliceDto<T>(
+        List<T> content,
+        Integer size,
+        Boolean hasNext,
+        String nextCursor
+) {
+    /** {@code rows} wurde mit {@code size + 1} geladen – die zusätzliche Zeile zeigt nur an, ob es weitergeht */
+    public static <E, T> SliceDto<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+
+        return new SliceDto<>(
+                page.stream().map(mapper).toList(),
+                size,
+                hasNext,
+                hasNext ? cursorOf.apply(page.getLast()) : null
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package at.spengergasse.ehif_dbi.dtos;
+
+import at.spengergasse.ehif_dbi.service.threads.ThreadModel;
+
+import java.util.List;
+
+public record ThreadDiagnosticsDto(
+        ThreadModel requestThreadModel,
+        ThreadModel configuredThreadModel,
+        Integer platformPoolSize,
+        Integer livePlatformThreads,
+        Integer peakPlatformThreads,
+        Boolean pinningMonitorActive,
+        Long pinnedEvents,
+        Double pinnedTotalMs,
+        List<PinnedFrameDto> pinnedFrames
+) {
+}
@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.dtos.postgres;
+
+public record FoundedYearBucketDto(
+        Integer bucketStart,
+        Long parishCount
+) {
+}
@@ -0,0 +1,10 @@
+package at.spengergasse.ehif_dbi.dtos.postgres;
+
+public record ParishionerStatsDto(
+        Long parishId,
+        Long parishionerCount,
+        Double averageBirthYear,
+        Integer minBirthYear,
+        Integer maxBirthYear
+) {
+}
@@ -4,6 +4,7 @@ import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
@@ -11,7 +12,17 @@ public interface ParishDocumentRepository extends MongoRepository<ParishDocument
     List<ParishDocument> findByFoundedYear(Integer foundedYear);
     List<ParishDocument> findByFoundedYearIndexed(Integer foundedYear);
 
+    // Inklusiv wie BETWEEN in Postgres – das abgeleitete Between wäre exklusiv ($gt/$lt)
+    @Query("{ 'foundedYear': { $gte: ?0, $lte: ?1 } }")
     List<ParishDocument> findAllByFoundedYearBetween(int minFoundedYear, int maxFoundedYear);
+
+    // Projektion auf dem Server: priests und parishioners werden gar nicht erst übertragen
+    @Query(value = "{}", fields = "{ 'name': 1, 'location': 1, 'foundedYear': 1 }")
+    List<ParishDocumentSummaryDto> findAllSummaries();
+
+    @Query(value = "{ 'foundedYear': { $gte: ?0, $lte: ?1 } }", fields = "{ 'name': 1, 'location': 1, 'foundedYear': 1 }")
     List<ParishDocumentSummaryDto> findAllProjectedByFoundedYearBetween(int minFoundedYear, int maxFoundedYear);
+
+    @Query(value = "{ 'foundedYear': { $gte: ?0, $lte: ?1 } }", fields = "{ 'name': 1, 'location': 1, 'foundedYear': 1 }", sort = "{ 'foundedYear': -1 }")
     List<ParishDocumentSummaryDto> findAllProjectedByFoundedYearBetweenOrderByFoundedYearDesc(int minFoundedYear, int maxFoundedYear);
 }
@@ -0,0 +1,21 @@
+package at.spengergasse.ehif_dbi.persistence.mongo;
+
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reaktives Gegenstück zu {@link ParishDocumentRepository} auf derselben Collection,
+ * über den Reactive-Streams-Treiber mit eigenem Connection-Pool.
+ */
+public interface ReactiveParishDocumentRepository extends ReactiveMongoRepository<ParishDocument, ObjectId> {
+
+    @Query("{ 'foundedYear': { $gte: ?0, $lte: ?1 } }")
+    Flux<ParishDocument> findAllByFoundedYearBetween(int minFoundedYear, int maxFoundedYear);
+
+    @Query(value = "{}", fields = "{ 'name': 1, 'location': 1, 'foundedYear': 1 }")
+    Flux<ParishDocumentSummaryDto> findAllSummaries();
+}
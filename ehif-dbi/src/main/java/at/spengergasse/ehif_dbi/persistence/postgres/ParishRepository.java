@@ -1,29 +1,81 @@
 package at.spengergasse.ehif_dbi.persistence.postgres;
 
 import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.dtos.postgres.FoundedYearBucketDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerStatsDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ParishRepository extends JpaRepository<Parish, Parish.ParishId> {
+    // Query Space "parish": Hibernate invalidiert nur die Parish-Region statt des gesamten Second-Level-Cache.
+    // Die Version wird mitgezählt, sonst überschreiben vorher geladene Parishes die Änderung unbemerkt.
     @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "parish"))
     @Query(
-            value = "UPDATE parish SET name = name || '_UPDATED'",
+            value = "UPDATE parish SET name = name || '_UPDATED', version = version + 1",
             nativeQuery = true
     )
     void updateAllParishes();
 
     List<Parish> findAllByFoundedYearBetween(int minFoundedYear, int maxFoundedYear);
 
+    List<Parish> findAllByFoundedYear(int foundedYear);
+
+    // Query Cache: gecacht werden nur die Ids, die Parishes selbst kommen aus der Region "parish"
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p FROM Parish p WHERE p.foundedYear BETWEEN :minFoundedYear AND :maxFoundedYear")
+    List<Parish> findCacheableByFoundedYearBetween(int minFoundedYear, int maxFoundedYear);
+
+    // Konstruktor-Ausdrücke: nur die vier Spalten, keine Entities im Persistence Context
     @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto(p.id.id, p.name, p.location, p.foundedYear) FROM Parish p")
+    List<ParishSummaryDto> findAllSummaries();
+
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto(p.id.id, p.name, p.location, p.foundedYear) FROM Parish p WHERE p.foundedYear BETWEEN :minFoundedYear AND :maxFoundedYear")
     List<ParishSummaryDto> findAllProjectedByFoundedYearBetween(int minFoundedYear, int maxFoundedYear);
 
-    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto(p.id.id, p.name, p.location, p.foundedYear) FROM Parish p")
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto(p.id.id, p.name, p.location, p.foundedYear) FROM Parish p WHERE p.foundedYear BETWEEN :minFoundedYear AND :maxFoundedYear ORDER BY p.foundedYear DESC")
     List<ParishSummaryDto> findAllProjectedByFoundedYearBetweenOrderByFoundedYearDesc(int minFoundedYear, int maxFoundedYear);
 
+    // Fetch-Plan für ParishDto: zwei getrennte Fetch-Joins, ein gemeinsamer ergäbe das kartesische Produkt priests x parishioners
+    @EntityGraph(attributePaths = "priests")
+    @Query("SELECT p FROM Parish p")
+    List<Parish> findAllWithPriests();
+
+    @EntityGraph(attributePaths = "parishioners")
+    @Query("SELECT p FROM Parish p")
+    List<Parish> findAllWithParishioners();
+
     @Query("SELECT AVG(p.foundedYear) FROM Parish p")
     Double averageFoundedYear();
+
+    // Berichte für den Aggregation-Benchmark: Jahrzehnte als Buckets, Parishioner-Statistik per JOIN ... GROUP BY
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.FoundedYearBucketDto(p.foundedYear - MOD(p.foundedYear, 10), COUNT(p)) FROM Parish p GROUP BY p.foundedYear - MOD(p.foundedYear, 10) ORDER BY p.foundedYear - MOD(p.foundedYear, 10)")
+    List<FoundedYearBucketDto> countByFoundedYearBucket();
+
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.ParishionerStatsDto(p.id.id, COUNT(pa), AVG(YEAR(pa.birthDate)), MIN(YEAR(pa.birthDate)), MAX(YEAR(pa.birthDate))) FROM Parish p JOIN p.parishioners pa GROUP BY p.id.id")
+    List<ParishionerStatsDto> parishionerStatsPerParish();
+
+    @Query("SELECT p.id FROM Parish p")
+    List<Parish.ParishId> findIds(Limit limit);
+
+    // Keyset-Pagination: nutzt den Primärschlüssel bzw. den Index (founded_year, id)
+    @Query("SELECT p FROM Parish p WHERE p.id.id > :afterId ORDER BY p.id.id")
+    List<Parish> findPageAfterId(long afterId, Limit limit);
+
+    @Query("SELECT p FROM Parish p WHERE (p.foundedYear, p.id.id) > (:afterFoundedYear, :afterId) ORDER BY p.foundedYear, p.id.id")
+    List<Parish> findPageAfterFoundedYear(int afterFoundedYear, long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE))
+    @Query("SELECT p FROM Parish p")
+    Stream<Parish> streamAll();
 }
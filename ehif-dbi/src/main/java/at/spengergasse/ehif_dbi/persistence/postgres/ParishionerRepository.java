@@ -2,8 +2,34 @@ package at.spengergasse.ehif_dbi.persistence.postgres;
 
 import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
 import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerSummaryDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface ParishionerRepository extends JpaRepository<Parishioner, Parishioner.ParishionerId> {}
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ParishionerRepository extends JpaRepository<Parishioner, Parishioner.ParishionerId> {
+    // Fetch-Plan für ParishionerDto; die to-one-Beziehung verträgt sich auch mit Limit und Cursor
+    @EntityGraph(attributePaths = "parish")
+    @Query("SELECT p FROM Parishioner p")
+    List<Parishioner> findAllWithParish();
+
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.ParishionerSummaryDto(p.id.id, p.firstName, p.lastName, p.birthDate) FROM Parishioner p")
+    List<ParishionerSummaryDto> findAllSummaries();
+
+    @EntityGraph(attributePaths = "parish")
+    @Query("SELECT p FROM Parishioner p WHERE p.id.id > :afterId ORDER BY p.id.id")
+    List<Parishioner> findPageAfterId(long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "parish")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE))
+    @Query("SELECT p FROM Parishioner p")
+    Stream<Parishioner> streamAll();
+}
@@ -1,7 +1,38 @@
 package at.spengergasse.ehif_dbi.persistence.postgres;
 
 import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import at.spengergasse.ehif_dbi.dtos.postgres.PriestSummaryDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.SharedPriestDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface PriestRepository extends JpaRepository<Priest, Priest.PriestId> {
+    // Fetch-Plan für PriestDto
+    @EntityGraph(attributePaths = "parishes")
+    @Query("SELECT p FROM Priest p")
+    List<Priest> findAllWithParishes();
+
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.PriestSummaryDto(p.id.id, p.firstName, p.lastName, p.ordinationDate) FROM Priest p")
+    List<PriestSummaryDto> findAllSummaries();
+
+    @Query("SELECT new at.spengergasse.ehif_dbi.dtos.postgres.SharedPriestDto(p.id.id, COUNT(pa)) FROM Priest p JOIN p.parishes pa GROUP BY p.id.id HAVING COUNT(pa) >= :minParishes ORDER BY COUNT(pa) DESC")
+    List<SharedPriestDto> findSharedByAtLeast(long minParishes);
+
+    @Query("SELECT p.id FROM Priest p")
+    List<Priest.PriestId> findIds(Limit limit);
+
+    @Query("SELECT p FROM Priest p WHERE p.id.id > :afterId ORDER BY p.id.id")
+    List<Priest> findPageAfterId(long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = StreamingHints.FETCH_SIZE))
+    @Query("SELECT p FROM Priest p")
+    Stream<Priest> streamAll();
 }
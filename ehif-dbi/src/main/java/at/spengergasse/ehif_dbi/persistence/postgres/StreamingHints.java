@@ -0,0 +1,13 @@
+package at.spengergasse.ehif_dbi.persistence.postgres;
+
+/**
+ * Gemeinsame Werte für Stream-Abfragen: pgjdbc holt Zeilen nur mit gesetzter Fetch-Size
+ * (und ohne Autocommit) über einen Cursor, sonst lädt es das ganze ResultSet in den Speicher.
+ */
+public final class StreamingHints {
+
+    public static final String FETCH_SIZE = "500";
+    public static final int CLEAR_INTERVAL = 500;
+
+    private StreamingHints() {}
+}
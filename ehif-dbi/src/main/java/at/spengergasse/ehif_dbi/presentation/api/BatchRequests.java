@@ -0,0 +1,57 @@
+package at.spengergasse.ehif_dbi.presentation.api;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Liest einen Batch-Body Element für Element, egal ob JSON-Array oder NDJSON (ein Objekt pro Zeile):
+ * Jackson liefert beides als Folge von Werten, der Body wird nie als Ganzes gebunden.
+ */
+final class BatchRequests {
+
+    private BatchRequests() {}
+
+    static <T> Iterator<T> read(ObjectMapper objectMapper, InputStream body, Class<T> type) {
+        MappingIterator<T> values;
+        try {
+            values = objectMapper.readerFor(type).readValues(body);
+        } catch (IOException e) {
+            throw invalid(0, e);
+        }
+
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw invalid(index, e);
+                }
+            }
+
+            @Override
+            public T next() {
+                try {
+                    T value = values.nextValue();
+                    index++;
+                    return value;
+                } catch (IOException e) {
+                    throw invalid(index, e);
+                }
+            }
+        };
+    }
+
+    // Vorherige Chunks sind zu diesem Zeitpunkt bereits geschrieben
+    private static ResponseStatusException invalid(int index, IOException e) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Batch Body at Item " + index, e);
+    }
+}
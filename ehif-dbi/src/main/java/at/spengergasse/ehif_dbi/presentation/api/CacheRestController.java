@@ -0,0 +1,30 @@
+package at.spengergasse.ehif_dbi.presentation.api;
+
+import at.spengergasse.ehif_dbi.dtos.ReadCacheStatsDto;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+
+@RestController
+@RequestMapping(value = "/api/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CacheRestController {
+
+    private final List<ReadThroughCache<?, ?>> readCaches;
+
+    @GetMapping("stats")
+    public ResponseEntity<List<ReadCacheStatsDto>> getStats() {
+        return ResponseEntity.ok(readCaches.stream().map(ReadThroughCache::stats).toList());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> invalidateAll() {
+        readCaches.forEach(ReadThroughCache::invalidateAll);
+        return ResponseEntity.noContent().build();
+    }
+}
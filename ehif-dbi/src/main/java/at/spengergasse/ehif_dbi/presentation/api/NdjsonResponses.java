@@ -0,0 +1,48 @@
+package at.spengergasse.ehif_dbi.presentation.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Schreibt Elemente als NDJSON (ein JSON-Objekt pro Zeile), sobald sie aus dem Cursor kommen.
+ * Der Producer läuft im Async-Thread von Spring MVC, Transaktionen muss er also selbst öffnen.
+ */
+final class NdjsonResponses {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private NdjsonResponses() {}
+
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        ObjectWriter writer = objectMapper.writer();
+
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            try {
+                producer.accept(item -> {
+                    try {
+                        outputStream.write(writer.writeValueAsBytes(item));
+                        outputStream.write('\n');
+                        if (++written[0] % FLUSH_INTERVAL == 0) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            outputStream.flush();
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
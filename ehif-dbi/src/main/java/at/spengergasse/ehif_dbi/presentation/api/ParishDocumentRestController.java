@@ -4,18 +4,27 @@ import at.spengergasse.ehif_dbi.commands.mongo.AddParishionerEmbeddedCommand;
 import at.spengergasse.ehif_dbi.commands.mongo.AddPriestEmbeddedCommand;
 import at.spengergasse.ehif_dbi.commands.mongo.UpdateParishionerEmbeddedCommand;
 import at.spengergasse.ehif_dbi.commands.mongo.UpdatePriestEmbeddedCommand;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishionerEmbeddedDto;
 import at.spengergasse.ehif_dbi.dtos.mongo.PriestEmbeddedDto;
+import at.spengergasse.ehif_dbi.service.PageOrder;
 import at.spengergasse.ehif_dbi.service.mongo.ParishDocumentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 
 @AllArgsConstructor
@@ -25,6 +34,7 @@ import java.util.List;
 public class ParishDocumentRestController {
 
     private final ParishDocumentService parishDocumentService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<ParishDocumentDto>> getAllParishDocuments() {
@@ -35,6 +45,33 @@ public class ParishDocumentRestController {
                 : ResponseEntity.ok(parishDocumentes);
     }
 
+    @GetMapping("summary")
+    public ResponseEntity<List<ParishDocumentSummaryDto>> getAllParishDocumentsSummary() {
+        var parishDocumentes = parishDocumentService.getParishDocumentSummaries();
+
+        return (parishDocumentes.isEmpty())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(parishDocumentes);
+    }
+
+    @GetMapping("page")
+    public ResponseEntity<SliceDto<ParishDocumentDto>> getParishDocumentPage(
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "ID") PageOrder order
+    ) {
+        var page = parishDocumentService.getParishDocumentPage(size, cursor, order);
+
+        return (page.content().isEmpty())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllParishDocuments() {
+        return NdjsonResponses.<ParishDocumentDto>of(objectMapper, parishDocumentService::streamParishDocuments);
+    }
+
     @GetMapping("{parishDocumentId}")
     public ResponseEntity<ParishDocumentDto> getParishDocumentById(@PathVariable String parishDocumentId) {
         var parishDocument = parishDocumentService.getParishDocumentById(new ObjectId(parishDocumentId));
@@ -54,6 +91,11 @@ public class ParishDocumentRestController {
         ).body(parishDocument);
     }
 
+    @PostMapping(value = "batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResultDto> saveParishDocuments(InputStream body) {
+        return ResponseEntity.ok(parishDocumentService.saveParishDocuments(BatchRequests.read(objectMapper, body, ParishDocumentDto.class)));
+    }
+
     @PutMapping
     public ResponseEntity<ParishDocumentDto> updateParishDocument(@Valid @RequestBody ParishDocumentDto parishDocumentDto) {
         return parishDocumentService.updateParishDocument(parishDocumentDto)
@@ -2,24 +2,33 @@ package at.spengergasse.ehif_dbi.presentation.api;
 
 import at.spengergasse.ehif_dbi.commands.postgres.AddParishionerCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.AddPriestCommand;
+import at.spengergasse.ehif_dbi.commands.postgres.BatchParishCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.CreateParishCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.UpdateParishCommand;
 import at.spengergasse.ehif_dbi.domain.postgres.Parish;
 import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
 import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerSummaryDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.PriestSummaryDto;
+import at.spengergasse.ehif_dbi.service.PageOrder;
 import at.spengergasse.ehif_dbi.service.postgres.ParishService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 
 @AllArgsConstructor
@@ -29,6 +38,7 @@ import java.util.List;
 public class ParishRestController {
 
     private final ParishService parishService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<ParishDto>> getAllParishes() {
@@ -39,6 +49,24 @@ public class ParishRestController {
                 : ResponseEntity.ok(parishes);
     }
 
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllParishs() {
+        return NdjsonResponses.<ParishDto>of(objectMapper, parishService::streamParishes);
+    }
+
+    @GetMapping("page")
+    public ResponseEntity<SliceDto<ParishDto>> getParishPage(
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "ID") PageOrder order
+    ) {
+        var page = parishService.getParishPage(size, cursor, order);
+
+        return (page.content().isEmpty())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(page);
+    }
+
     @GetMapping("summary")
     public ResponseEntity<List<ParishSummaryDto>> getAllParishesSummary() {
         var parishs = parishService.getParishSummaries();
@@ -67,6 +95,11 @@ public class ParishRestController {
         ).body(parish);
     }
 
+    @PostMapping(value = "batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResultDto> saveParishes(InputStream body) {
+        return ResponseEntity.ok(parishService.saveParishes(BatchRequests.read(objectMapper, body, BatchParishCommand.class)));
+    }
+
     @PutMapping("{parishId}")
     public ResponseEntity<ParishDto> updateParish(
             @PathVariable Long parishId,
@@ -1,18 +1,26 @@
 package at.spengergasse.ehif_dbi.presentation.api;
 
+import at.spengergasse.ehif_dbi.commands.postgres.BatchParishionerCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.CreateParishionerCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.UpdateParishionerCommand;
 import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerSummaryDto;
 import at.spengergasse.ehif_dbi.service.postgres.ParishionerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 
 @AllArgsConstructor
@@ -22,6 +30,7 @@ import java.util.List;
 public class ParishionerRestController {
 
     private final ParishionerService parishionerService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<ParishionerDto>> getAllParishioners() {
@@ -32,6 +41,23 @@ public class ParishionerRestController {
                 : ResponseEntity.ok(parishioners);
     }
 
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllParishioners() {
+        return NdjsonResponses.<ParishionerDto>of(objectMapper, parishionerService::streamParishioners);
+    }
+
+    @GetMapping("page")
+    public ResponseEntity<SliceDto<ParishionerDto>> getParishionerPage(
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        var page = parishionerService.getParishionerPage(size, cursor);
+
+        return (page.content().isEmpty())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(page);
+    }
+
     @GetMapping("summary")
     public ResponseEntity<List<ParishionerSummaryDto>> getAllParishionersSummary() {
         var parishioners = parishionerService.getParishionerSummaries();
@@ -60,6 +86,11 @@ public class ParishionerRestController {
         ).body(parishioner);
     }
 
+    @PostMapping(value = "batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResultDto> saveParishioners(InputStream body) {
+        return ResponseEntity.ok(parishionerService.saveParishioners(BatchRequests.read(objectMapper, body, BatchParishionerCommand.class)));
+    }
+
     @PutMapping("{parishionerId}")
     public ResponseEntity<ParishionerDto> updateParishioner(@PathVariable Long parishionerId, @Valid @RequestBody UpdateParishionerCommand updateParishionerCommand) {
         return parishionerService.updateParishioner(new Parishioner.ParishionerId(parishionerId), updateParishionerCommand)
@@ -1,18 +1,26 @@
 package at.spengergasse.ehif_dbi.presentation.api;
 
+import at.spengergasse.ehif_dbi.commands.postgres.BatchPriestCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.CreatePriestCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.UpdatePriestCommand;
 import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.PriestDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.PriestSummaryDto;
 import at.spengergasse.ehif_dbi.service.postgres.PriestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 
 @AllArgsConstructor
@@ -22,6 +30,7 @@ import java.util.List;
 public class PriestRestController {
 
     private final PriestService priestService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<PriestDto>> getAllPriests() {
@@ -32,6 +41,23 @@ public class PriestRestController {
                 : ResponseEntity.ok(priests);
     }
 
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllPriests() {
+        return NdjsonResponses.<PriestDto>of(objectMapper, priestService::streamPriests);
+    }
+
+    @GetMapping("page")
+    public ResponseEntity<SliceDto<PriestDto>> getPriestPage(
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        var page = priestService.getPriestPage(size, cursor);
+
+        return (page.content().isEmpty())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.ok(page);
+    }
+
     @GetMapping("summary")
     public ResponseEntity<List<PriestSummaryDto>> getAllPriestsSummary() {
         var priests = priestService.getPriestSummaries();
@@ -60,6 +86,11 @@ public class PriestRestController {
         ).body(priest);
     }
 
+    @PostMapping(value = "batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResultDto> savePriests(InputStream body) {
+        return ResponseEntity.ok(priestService.savePriests(BatchRequests.read(objectMapper, body, BatchPriestCommand.class)));
+    }
+
     @PutMapping("{priestId}")
     public ResponseEntity<PriestDto> updatePriest(@PathVariable Long priestId, @Valid @RequestBody UpdatePriestCommand updatePriestCommand) {
         return priestService.updatePriest(new Priest.PriestId(priestId), updatePriestCommand)
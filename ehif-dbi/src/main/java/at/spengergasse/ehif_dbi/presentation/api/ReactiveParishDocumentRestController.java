@@ -0,0 +1,84 @@
+package at.spengergasse.ehif_dbi.presentation.api;
+
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
+import at.spengergasse.ehif_dbi.service.mongo.ReactiveParishDocumentService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Spring MVC abonniert die Publisher selbst: ein Flux mit NDJSON wird Element für Element geschrieben und erst
+ * nach jedem geschriebenen Element weiter angefordert, alles andere wird gesammelt und als Ganzes zurückgegeben.
+ */
+@AllArgsConstructor
+
+@RestController
+@RequestMapping(value = "/api/reactive/parishDocument", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ReactiveParishDocumentRestController {
+
+    private final ReactiveParishDocumentService reactiveParishDocumentService;
+
+    @GetMapping(value = "stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ParishDocumentDto> streamAllParishDocuments() {
+        return reactiveParishDocumentService.streamParishDocuments();
+    }
+
+    @GetMapping(value = "foundedYear", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ParishDocumentDto> streamParishDocumentsByFoundedYear(
+            @RequestParam int minFoundedYear,
+            @RequestParam int maxFoundedYear
+    ) {
+        return reactiveParishDocumentService.getParishDocumentsByFoundedYearBetween(minFoundedYear, maxFoundedYear);
+    }
+
+    @GetMapping("summary")
+    public Mono<ResponseEntity<List<ParishDocumentSummaryDto>>> getAllParishDocumentsSummary() {
+        return reactiveParishDocumentService.getParishDocumentSummaries()
+                .collectList()
+                .map(parishDocumentes -> (parishDocumentes.isEmpty())
+                        ? ResponseEntity.noContent().build()
+                        : ResponseEntity.ok(parishDocumentes));
+    }
+
+    @GetMapping("{parishDocumentId}")
+    public Mono<ResponseEntity<ParishDocumentDto>> getParishDocumentById(@PathVariable String parishDocumentId) {
+        return reactiveParishDocumentService.getParishDocumentById(new ObjectId(parishDocumentId))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ParishDocumentDto>> createParishDocument(@Valid @RequestBody ParishDocumentDto parishDocumentDto) {
+        // Der Request-Kontext existiert nur auf dem Request-Thread, nicht mehr im Callback des Treibers
+        UriComponentsBuilder location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{parishDocumentId}");
+
+        return reactiveParishDocumentService.createParishDocument(parishDocumentDto)
+                .map(parishDocument -> ResponseEntity.created(
+                        location.buildAndExpand(parishDocument.id()).toUri()
+                ).body(parishDocument));
+    }
+
+    @PutMapping
+    public Mono<ResponseEntity<ParishDocumentDto>> updateParishDocument(@Valid @RequestBody ParishDocumentDto parishDocumentDto) {
+        return reactiveParishDocumentService.updateParishDocument(parishDocumentDto)
+                .map(parish -> ResponseEntity.ok().body(parish))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("{parishDocumentId}")
+    public Mono<ResponseEntity<ParishDocumentDto>> deleteParishDocument(@PathVariable String parishDocumentId) {
+        return reactiveParishDocumentService.deleteParishDocument(new ObjectId(parishDocumentId))
+                .map(parishDocumentDto -> ResponseEntity.ok().body(parishDocumentDto))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,48 @@
+package at.spengergasse.ehif_dbi.presentation.api;
+
+import at.spengergasse.ehif_dbi.dtos.ThreadDiagnosticsDto;
+import at.spengergasse.ehif_dbi.service.threads.SwitchableRequestExecutor;
+import at.spengergasse.ehif_dbi.service.threads.ThreadModel;
+import at.spengergasse.ehif_dbi.service.threads.VirtualThreadPinningMonitor;
+import lombok.AllArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+@AllArgsConstructor
+
+@RestController
+@RequestMapping(value = "/api/threads", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ThreadRestController {
+
+    private final SwitchableRequestExecutor requestExecutor;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final Environment environment;
+
+    @GetMapping
+    public ResponseEntity<ThreadDiagnosticsDto> getDiagnostics() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        return ResponseEntity.ok(new ThreadDiagnosticsDto(
+                requestExecutor.getModel(),
+                ThreadModel.configured(environment),
+                requestExecutor.getPlatformPoolSize(),
+                threads.getThreadCount(),
+                threads.getPeakThreadCount(),
+                pinningMonitor.isActive(),
+                pinningMonitor.pinnedEvents(),
+                pinningMonitor.pinnedTotalMs(),
+                pinningMonitor.topFrames()
+        ));
+    }
+
+    @DeleteMapping("pinning")
+    public ResponseEntity<Void> resetPinning() {
+        pinningMonitor.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
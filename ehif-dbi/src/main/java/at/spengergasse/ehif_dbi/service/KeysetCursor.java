@@ -0,0 +1,48 @@
+package at.spengergasse.ehif_dbi.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaker Cursor für Keyset-Pagination: die Sortierschlüssel der letzten Zeile, Base64-kodiert.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private KeysetCursor() {}
+
+    public static String encode(Object... keys) {
+        StringBuilder value = new StringBuilder();
+        for (Object key : keys) {
+            if (!value.isEmpty()) {
+                value.append(SEPARATOR);
+            }
+            value.append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keys) {
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (values.length != keys) {
+                throw new IllegalArgumentException("Expected " + keys + " keys");
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Cursor");
+        }
+    }
+
+    public static long decodeLong(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Cursor");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package at.spengergasse.ehif_dbi.service;
+
+/** Sortierung für Keyset-Pagination; FOUNDED_YEAR sortiert nach (foundedYear, id) */
+public enum PageOrder {
+    ID,
+    FOUNDED_YEAR
+}
@@ -0,0 +1,17 @@
+package at.spengergasse.ehif_dbi.service.batch;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/** Ein Element des Request-Bodys mit seiner Position, damit die Ergebnisse zugeordnet werden können */
+public record BatchItem<C>(int index, C command) {
+
+    /** Ids der zu aktualisierenden Elemente eines Chunks, um sie mit einer Abfrage zu laden */
+    public static <C, I> List<I> ids(List<BatchItem<C>> chunk, Function<C, I> idOf) {
+        return chunk.stream()
+                .map(item -> idOf.apply(item.command()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
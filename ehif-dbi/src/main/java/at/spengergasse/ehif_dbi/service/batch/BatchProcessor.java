@@ -0,0 +1,112 @@
+package at.spengergasse.ehif_dbi.service.batch;
+
+import at.spengergasse.ehif_dbi.dtos.BatchItemResultDto;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Liest die Commands eines Batch-Requests, validiert jedes einzeln und übergibt die gültigen in Chunks
+ * von {@code batch-write.chunk-size} an den Writer. Es liegt also immer nur ein Chunk im Speicher,
+ * auch wenn der Body als NDJSON gestreamt wird.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchProcessor {
+
+    private final BatchWriteProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    /**
+     * Jeder Chunk in einer eigenen Transaktion. Schlägt ein Chunk fehl, wird er elementweise wiederholt,
+     * damit nur die fehlerhaften Elemente als FAILED gemeldet werden und der Rest trotzdem geschrieben wird.
+     */
+    public <C> BatchResultDto processInTransactions(Iterator<C> commands, Function<List<BatchItem<C>>, List<BatchItemResultDto>> writer) {
+        return process(commands, chunk -> {
+            try {
+                return transactionTemplate.execute(status -> writer.apply(chunk));
+            } catch (RuntimeException e) {
+                if (chunk.size() == 1) {
+                    return List.of(BatchItemResultDto.failed(chunk.getFirst().index(), message(e)));
+                }
+
+                List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+                for (BatchItem<C> item : chunk) {
+                    try {
+                        results.addAll(transactionTemplate.execute(status -> writer.apply(List.of(item))));
+                    } catch (RuntimeException itemFailure) {
+                        results.add(BatchItemResultDto.failed(item.index(), message(itemFailure)));
+                    }
+                }
+                return results;
+            }
+        });
+    }
+
+    /** Ohne Transaktion (MongoDB), der Writer meldet Fehler einzelner Elemente selbst */
+    public <C> BatchResultDto process(Iterator<C> commands, Function<List<BatchItem<C>>, List<BatchItemResultDto>> writer) {
+        List<BatchItemResultDto> results = new ArrayList<>();
+        List<BatchItem<C>> chunk = new ArrayList<>(properties.chunkSize());
+        int index = 0;
+        int chunks = 0;
+
+        while (commands.hasNext()) {
+            C command = commands.next();
+            String violations = violations(command);
+
+            if (violations != null) {
+                results.add(BatchItemResultDto.invalid(index, violations));
+            } else {
+                chunk.add(new BatchItem<>(index, command));
+            }
+            index++;
+
+            if (chunk.size() == properties.chunkSize()) {
+                results.addAll(writer.apply(chunk));
+                chunks++;
+                chunk = new ArrayList<>(properties.chunkSize());
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            results.addAll(writer.apply(chunk));
+            chunks++;
+        }
+
+        results.sort(Comparator.comparing(BatchItemResultDto::index));
+        return BatchResultDto.of(results, chunks);
+    }
+
+    private String violations(Object command) {
+        if (command == null) {
+            return "must not be null";
+        }
+
+        Set<ConstraintViolation<Object>> violations = validator.validate(command);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String message(RuntimeException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+}
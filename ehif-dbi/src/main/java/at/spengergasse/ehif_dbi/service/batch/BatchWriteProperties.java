@@ -0,0 +1,14 @@
+package at.spengergasse.ehif_dbi.service.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * chunkSize = Elemente pro Transaktion bzw. Bulk-Write. Innerhalb eines Chunks bündelt Hibernate
+ * die Statements zusätzlich nach {@code hibernate.jdbc.batch_size}.
+ */
+@ConfigurationProperties(prefix = "batch-write")
+public record BatchWriteProperties(
+        @DefaultValue("1000") int chunkSize
+) {
+}
@@ -0,0 +1,31 @@
+package at.spengergasse.ehif_dbi.service.cache;
+
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.ParishDto;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReadCacheConfiguration {
+
+    @Bean
+    public ReadThroughCache<Parish.ParishId, ParishDto> parishCache(ReadCacheProperties properties) {
+        return new ReadThroughCache<>(
+                "parish",
+                properties.parishMaximumWeight(),
+                (id, parish) -> 1 + parish.priests().size() + parish.parishioners().size()
+        );
+    }
+
+    @Bean
+    public ReadThroughCache<ObjectId, ParishDocumentDto> parishDocumentCache(ReadCacheProperties properties) {
+        return new ReadThroughCache<>(
+                "parishDocument",
+                properties.parishDocumentMaximumWeight(),
+                (id, parishDocument) -> 1 + parishDocument.priests().size() + parishDocument.parishioners().size()
+        );
+    }
+
+}
@@ -0,0 +1,15 @@
+package at.spengergasse.ehif_dbi.service.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Gewicht = Anzahl Objekte eines Eintrags (Parish + Priests + Parishioners), begrenzt also
+ * Einträge und Speicher zugleich. 0 schaltet den Cache praktisch ab.
+ */
+@ConfigurationProperties(prefix = "read-cache")
+public record ReadCacheProperties(
+        @DefaultValue("200000") long parishMaximumWeight,
+        @DefaultValue("200000") long parishDocumentMaximumWeight
+) {
+}
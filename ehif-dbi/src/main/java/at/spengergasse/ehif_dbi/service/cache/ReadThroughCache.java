@@ -0,0 +1,80 @@
+package at.spengergasse.ehif_dbi.service.cache;
+
+import at.spengergasse.ehif_dbi.dtos.ReadCacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Gewichtsbeschränkter Read-Through-Cache für unveränderliche DTOs (Caffeine, W-TinyLFU-Eviction).
+ * Pro Key wird atomar geladen, und invalidate wartet auf einen laufenden Load. Invalidiert wird erst
+ * nach dem Commit: Ein Load, der vor dem Commit noch den alten Stand gelesen hat, wird so spätestens
+ * von der Invalidierung verworfen, jeder spätere Load liest den neuen Stand.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final String name;
+    private final long maximumWeight;
+    private final Cache<K, V> cache;
+
+    public ReadThroughCache(String name, long maximumWeight, Weigher<K, V> weigher) {
+        this.name = name;
+        this.maximumWeight = maximumWeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(weigher)
+                .recordStats()
+                .build();
+    }
+
+    /** Nicht gefundene Keys werden nicht gecacht */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        return Optional.ofNullable(cache.get(key, k -> loader.apply(k).orElse(null)));
+    }
+
+    /** Ohne laufende Transaktion sofort, sonst nach Commit bzw. Rollback */
+    public void invalidateAfterCommit(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(key);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidate(key);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ReadCacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        long weightedSize = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+
+        return new ReadCacheStatsDto(
+                name,
+                cache.estimatedSize(),
+                weightedSize,
+                maximumWeight,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                stats.loadSuccessCount(),
+                stats.averageLoadPenalty() / 1_000_000.0
+        );
+    }
+}
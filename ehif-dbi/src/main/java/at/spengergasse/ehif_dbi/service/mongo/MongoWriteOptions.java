@@ -0,0 +1,41 @@
+package at.spengergasse.ehif_dbi.service.mongo;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Einstellungen für {@link ParishDocumentBulkWriter}: ordered bricht beim ersten Fehler ab und
+ * serialisiert den Batch auf dem Server, parallelism = Anzahl gleichzeitig gesendeter Chunks.
+ */
+public record MongoWriteOptions(
+        @DefaultValue("false") boolean ordered,
+        @DefaultValue("1000") @Positive int chunkSize,
+        @DefaultValue("W1") @NotNull WriteConcernLevel writeConcern,
+        @DefaultValue("1") @Positive int parallelism
+) {
+    public static final MongoWriteOptions DEFAULT = new MongoWriteOptions(false, 1000, WriteConcernLevel.W1, 1);
+
+    /** Kartesisches Produkt aller Varianten, z.B. für den Write-Benchmark */
+    public static List<MongoWriteOptions> matrix(List<Boolean> ordered, List<Integer> chunkSizes, List<WriteConcernLevel> writeConcerns, List<Integer> parallelism) {
+        List<MongoWriteOptions> matrix = new ArrayList<>();
+        for (boolean o : ordered) {
+            for (int chunkSize : chunkSizes) {
+                for (WriteConcernLevel writeConcern : writeConcerns) {
+                    for (int p : parallelism) {
+                        matrix.add(new MongoWriteOptions(o, chunkSize, writeConcern, p));
+                    }
+                }
+            }
+        }
+        return matrix;
+    }
+
+    @Override
+    public String toString() {
+        return (ordered ? "ordered" : "unordered") + ", chunk " + chunkSize + ", " + writeConcern + ", parallel " + parallelism;
+    }
+}
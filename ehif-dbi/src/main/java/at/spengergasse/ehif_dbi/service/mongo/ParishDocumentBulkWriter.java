@@ -0,0 +1,103 @@
+package at.spengergasse.ehif_dbi.service.mongo;
+
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Schreibt ParishDocuments per insertMany direkt auf die Collection, damit Ordered/Unordered,
+ * Chunk-Größe, Write Concern und Parallelität frei wählbar sind (MongoTemplate/BulkOperations
+ * nutzen immer den Write Concern des Templates). Der Stream wird chunkweise gelesen; es sind
+ * höchstens {@code parallelism} Chunks gleichzeitig im Speicher bzw. unterwegs.
+ */
+@AllArgsConstructor
+
+@Service
+public class ParishDocumentBulkWriter {
+
+    private MongoTemplate mongoTemplate;
+
+    public long insert(List<ParishDocument> parishDocuments, MongoWriteOptions options) {
+        return insert(parishDocuments.stream(), options);
+    }
+
+    public long insert(Stream<ParishDocument> parishDocuments, MongoWriteOptions options) {
+        MongoCollection<Document> collection = mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(ParishDocument.class))
+                .withWriteConcern(options.writeConcern().writeConcern());
+        InsertManyOptions insertManyOptions = new InsertManyOptions().ordered(options.ordered());
+
+        if (options.parallelism() == 1) {
+            long written = 0;
+            for (Iterator<List<Document>> chunks = chunks(parishDocuments, options.chunkSize()); chunks.hasNext(); ) {
+                List<Document> chunk = chunks.next();
+                collection.insertMany(chunk, insertManyOptions);
+                written += chunk.size();
+            }
+            return written;
+        }
+
+        Semaphore inFlight = new Semaphore(options.parallelism());
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Iterator<List<Document>> chunks = chunks(parishDocuments, options.chunkSize()); chunks.hasNext(); ) {
+                List<Document> chunk = chunks.next();
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        collection.insertMany(chunk, insertManyOptions);
+                        return chunk.size();
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            long written = 0;
+            for (Future<Integer> future : futures) {
+                written += future.get();
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Bulk write interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException("Bulk write failed", e.getCause());
+        }
+    }
+
+    private Iterator<List<Document>> chunks(Stream<ParishDocument> parishDocuments, int chunkSize) {
+        Iterator<ParishDocument> source = parishDocuments.iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public List<Document> next() {
+                List<Document> chunk = new ArrayList<>(chunkSize);
+                while (source.hasNext() && chunk.size() < chunkSize) {
+                    Document document = new Document();
+                    mongoTemplate.getConverter().write(source.next(), document);
+                    chunk.add(document);
+                }
+                return chunk;
+            }
+        };
+    }
+}
@@ -7,19 +7,46 @@ import at.spengergasse.ehif_dbi.commands.mongo.UpdatePriestEmbeddedCommand;
 import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
 import at.spengergasse.ehif_dbi.domain.mongo.ParishionerEmbedded;
 import at.spengergasse.ehif_dbi.domain.mongo.PriestEmbedded;
+import at.spengergasse.ehif_dbi.dtos.BatchItemResultDto;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
 import at.spengergasse.ehif_dbi.dtos.mongo.ParishionerEmbeddedDto;
 import at.spengergasse.ehif_dbi.dtos.mongo.PriestEmbeddedDto;
 import at.spengergasse.ehif_dbi.persistence.mongo.ParishDocumentRepository;
+import at.spengergasse.ehif_dbi.service.KeysetCursor;
+import at.spengergasse.ehif_dbi.service.PageOrder;
+import at.spengergasse.ehif_dbi.service.batch.BatchItem;
+import at.spengergasse.ehif_dbi.service.batch.BatchProcessor;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import at.spengergasse.ehif_dbi.service.retry.OptimisticRetryExecutor;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 
@@ -27,98 +54,143 @@ import java.util.Optional;
 @Transactional(readOnly=true)
 public class ParishDocumentService {
 
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final String PRIESTS = "priests";
+    private static final String PARISHIONERS = "parishioners";
+    private static final String VERSION = "version";
+
     private ParishDocumentRepository parishDocumentRepository;
+    private MongoTemplate mongoTemplate;
+    private ReadThroughCache<ObjectId, ParishDocumentDto> parishDocumentCache;
+    private OptimisticRetryExecutor optimisticRetryExecutor;
+    private BatchProcessor batchProcessor;
 
     public List<ParishDocumentDto> getParishDocuments() {
         return parishDocumentRepository.findAll().stream().map(ParishDocumentDto::new).toList();
     }
 
+    public List<ParishDocumentSummaryDto> getParishDocumentSummaries() {
+        return parishDocumentRepository.findAllSummaries();
+    }
+
+    /** Cursor mit fester Batch-Größe, es liegt immer nur ein Batch im Speicher */
+    public void streamParishDocuments(Consumer<ParishDocumentDto> consumer) {
+        Query query = new Query().cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        try (Stream<ParishDocument> parishDocuments = mongoTemplate.stream(query, ParishDocument.class)) {
+            parishDocuments.map(ParishDocumentDto::new).forEach(consumer);
+        }
+    }
+
+    /**
+     * Keyset-Pagination über _id bzw. (foundedYearIndexed, _id) – beides durch Indizes abgedeckt.
+     * Sortiert wird über foundedYearIndexed, damit foundedYear für den Index-Benchmark ohne Index bleibt.
+     */
+    public SliceDto<ParishDocumentDto> getParishDocumentPage(int size, String cursor, PageOrder order) {
+        Query query = new Query().limit(size + 1);
+
+        switch (order) {
+            case ID -> {
+                if (cursor != null) {
+                    query.addCriteria(Criteria.where("_id").gt(objectId(KeysetCursor.decode(cursor, 1)[0])));
+                }
+                query.with(Sort.by("_id"));
+            }
+            case FOUNDED_YEAR -> {
+                if (cursor != null) {
+                    String[] keys = KeysetCursor.decode(cursor, 2);
+                    int foundedYear = foundedYear(keys[0]);
+                    query.addCriteria(new Criteria().orOperator(
+                            Criteria.where("foundedYearIndexed").gt(foundedYear),
+                            Criteria.where("foundedYearIndexed").is(foundedYear).and("_id").gt(objectId(keys[1]))
+                    ));
+                } else {
+                    query.addCriteria(Criteria.where("foundedYearIndexed").ne(null));
+                }
+                query.with(Sort.by("foundedYearIndexed", "_id"));
+            }
+        }
+
+        return SliceDto.of(
+                mongoTemplate.find(query, ParishDocument.class),
+                size,
+                ParishDocumentDto::new,
+                parishDocument -> order == PageOrder.ID
+                        ? KeysetCursor.encode(parishDocument.getId().toHexString())
+                        : KeysetCursor.encode(parishDocument.getFoundedYearIndexed(), parishDocument.getId().toHexString())
+        );
+    }
+
+    private static ObjectId objectId(String value) {
+        if (!ObjectId.isValid(value)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Cursor");
+        }
+        return new ObjectId(value);
+    }
+
+    private static int foundedYear(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Cursor");
+        }
+    }
+
     public Optional<ParishDocumentDto> getParishDocumentById(ObjectId id) {
-        return parishDocumentRepository.findById(id).map(ParishDocumentDto::new);
+        return parishDocumentCache.get(id, key -> parishDocumentRepository.findById(key).map(ParishDocumentDto::new));
     }
 
     @Transactional(readOnly = false)
     public ParishDocumentDto createParishDocument(ParishDocumentDto parishDocumentDto) {
-        return new ParishDocumentDto(parishDocumentRepository.save(ParishDocument.builder()
-                        .name(parishDocumentDto.name())
-                        .location(parishDocumentDto.location())
-                        .foundedYear(parishDocumentDto.foundedYear())
-                        .priests(parishDocumentDto.priests().stream().map(priestEmbeddedDto ->
-                                PriestEmbedded.builder()
-                                        .id(new ObjectId())
-                                        .firstName(priestEmbeddedDto.firstName())
-                                        .lastName(priestEmbeddedDto.lastName())
-                                        .ordinationDate(priestEmbeddedDto.ordinationDate())
-                                .build()
-                        ).toList())
-                        .parishioners(parishDocumentDto.parishioners().stream().map(parisherEmbeddedDto ->
-                                ParishionerEmbedded.builder()
-                                        .id(new ObjectId())
-                                        .firstName(parisherEmbeddedDto.firstName())
-                                        .lastName(parisherEmbeddedDto.lastName())
-                                        .birthDate(parisherEmbeddedDto.birthDate())
-                                .build()
-                        ).toList())
-                .build()));
+        return new ParishDocumentDto(parishDocumentRepository.save(newParishDocument(parishDocumentDto)));
     }
 
-    @Transactional(readOnly = false)
+    /**
+     * save() prüft die Version, bei einem Konflikt wird das Dokument neu geladen und die Änderung erneut angewendet.
+     * Ohne JPA-Transaktion, sonst hielte das Backoff zwischen den Versuchen eine Postgres-Verbindung fest.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<ParishDocumentDto> updateParishDocument(ParishDocumentDto parishDocumentDto) {
-        return parishDocumentRepository.findById(new ObjectId(parishDocumentDto.id()))
+        ObjectId id = new ObjectId(parishDocumentDto.id());
+        parishDocumentCache.invalidateAfterCommit(id);
+
+        return optimisticRetryExecutor.execute(() -> parishDocumentRepository.findById(id)
                 .map(parish -> {
-                    parish.setName(parishDocumentDto.name());
-                    parish.setLocation(parishDocumentDto.location());
-                    parish.setFoundedYear(parishDocumentDto.foundedYear());
-                    parish.setPriests(parishDocumentDto.priests().stream().map(priestEmbeddedDto ->
-                            PriestEmbedded.builder()
-                                .id(new ObjectId(priestEmbeddedDto.id()))
-                                .firstName(priestEmbeddedDto.firstName())
-                                .lastName(priestEmbeddedDto.lastName())
-                                .ordinationDate(priestEmbeddedDto.ordinationDate())
-                            .build()
-                    ).toList());
-                    parish.setParishioners(parishDocumentDto.parishioners().stream().map(parisherEmbeddedDto ->
-                            ParishionerEmbedded.builder()
-                                    .id(new ObjectId(parisherEmbeddedDto.id()))
-                                    .firstName(parisherEmbeddedDto.firstName())
-                                    .lastName(parisherEmbeddedDto.lastName())
-                                    .birthDate(parisherEmbeddedDto.birthDate())
-                            .build()
-                    ).toList());
+                    applyUpdate(parish, parishDocumentDto);
                     return parishDocumentRepository.save(parish);
                 })
-                .map(ParishDocumentDto::new);
+                .map(ParishDocumentDto::new));
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<ParishDocumentDto> deleteParishDocument(ObjectId id) {
-        return parishDocumentRepository.findById(id)
+        parishDocumentCache.invalidateAfterCommit(id);
+
+        return optimisticRetryExecutor.execute(() -> parishDocumentRepository.findById(id)
                 .map(parish -> {
                     parishDocumentRepository.delete(parish);
                     return new ParishDocumentDto(parish);
-                });
+                }));
     }
 
     public List<PriestEmbeddedDto> getPriests(ObjectId parishDocumentId) {
-        return parishDocumentRepository.findById(parishDocumentId)
-                .map(parish -> parish.getPriests().stream().map(PriestEmbeddedDto::new).toList())
+        return getParishDocumentById(parishDocumentId)
+                .map(ParishDocumentDto::priests)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
     }
 
     public PriestEmbeddedDto getPriestById(ObjectId parishDocumentId, ObjectId priestEmbeddedId) {
-        return parishDocumentRepository.findById(parishDocumentId)
-                .map(parish -> parish.getPriests().stream()
-                        .filter(p -> p.getId().equals(priestEmbeddedId))
+        return getParishDocumentById(parishDocumentId)
+                .map(parish -> parish.priests().stream()
+                        .filter(p -> p.id().equals(priestEmbeddedId.toString()))
                         .findFirst()
-                        .map(PriestEmbeddedDto::new)
                         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Priest Not Found")))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PriestEmbeddedDto addPriest(ObjectId parishDocumentId, AddPriestEmbeddedCommand addPriestEmbeddedCommand) {
-        ParishDocument parishDocument = parishDocumentRepository.findById(parishDocumentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        parishDocumentCache.invalidateAfterCommit(parishDocumentId);
 
         PriestEmbedded priestEmbedded = PriestEmbedded.builder()
                 .id(new ObjectId())
@@ -127,65 +199,58 @@ public class ParishDocumentService {
                 .ordinationDate(addPriestEmbeddedCommand.ordinationDate())
                 .build();
 
-        parishDocument.getPriests().add(priestEmbedded);
-
-        parishDocumentRepository.save(parishDocument);
+        requireParish(updateParish(parishDocumentId, new Update().push(PRIESTS, priestEmbedded)));
         return new PriestEmbeddedDto(priestEmbedded);
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PriestEmbeddedDto updatePriest(
             ObjectId parishDocumentId,
             ObjectId priestEmbeddedId,
             UpdatePriestEmbeddedCommand updatePriestEmbeddedCommand
     ) {
-        ParishDocument parishDocument = parishDocumentRepository.findById(parishDocumentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
-
-        PriestEmbedded priestEmbedded = parishDocument.getPriests().stream()
-                .filter(p -> p.getId().equals(priestEmbeddedId))
-                .findFirst()
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Priest Not Found"));
-
-        priestEmbedded.setFirstName(updatePriestEmbeddedCommand.firstName());
-        priestEmbedded.setLastName(updatePriestEmbeddedCommand.lastName());
-        priestEmbedded.setOrdinationDate(updatePriestEmbeddedCommand.ordinationDate());
-
-        parishDocumentRepository.save(parishDocument);
-        return new PriestEmbeddedDto(priestEmbedded);
+        parishDocumentCache.invalidateAfterCommit(parishDocumentId);
+
+        Update update = new Update()
+                .set(PRIESTS + ".$[p].firstName", updatePriestEmbeddedCommand.firstName())
+                .set(PRIESTS + ".$[p].lastName", updatePriestEmbeddedCommand.lastName())
+                .set(PRIESTS + ".$[p].ordinationDate", updatePriestEmbeddedCommand.ordinationDate())
+                .filterArray(Criteria.where("p._id").is(priestEmbeddedId));
+
+        requireElement(parishDocumentId, updateElement(parishDocumentId, PRIESTS, priestEmbeddedId, update), "Priest Not Found");
+        return new PriestEmbeddedDto(new PriestEmbedded(
+                priestEmbeddedId,
+                updatePriestEmbeddedCommand.firstName(),
+                updatePriestEmbeddedCommand.lastName(),
+                updatePriestEmbeddedCommand.ordinationDate()
+        ));
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void removePriest(ObjectId parishDocumentId, ObjectId priestEmbeddedId) {
-        ParishDocument parishDocument = parishDocumentRepository.findById(parishDocumentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        parishDocumentCache.invalidateAfterCommit(parishDocumentId);
 
-        parishDocument.getPriests().removeIf(p -> p.getId().equals(priestEmbeddedId));
-
-        parishDocumentRepository.save(parishDocument);
+        requireParish(updateParish(parishDocumentId, new Update().pull(PRIESTS, new Document("_id", priestEmbeddedId))));
     }
 
-
     public List<ParishionerEmbeddedDto> getParishioners(ObjectId parishDocumentId) {
-        return parishDocumentRepository.findById(parishDocumentId)
-                .map(parish -> parish.getParishioners().stream().map(ParishionerEmbeddedDto::new).toList())
+        return getParishDocumentById(parishDocumentId)
+                .map(ParishDocumentDto::parishioners)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
     }
 
     public ParishionerEmbeddedDto getParishionerById(ObjectId parishDocumentId, ObjectId parishionerEmbeddedId) {
-        return parishDocumentRepository.findById(parishDocumentId)
-                .map(parish -> parish.getParishioners().stream()
-                        .filter(p -> p.getId().equals(parishionerEmbeddedId))
+        return getParishDocumentById(parishDocumentId)
+                .map(parish -> parish.parishioners().stream()
+                        .filter(p -> p.id().equals(parishionerEmbeddedId.toString()))
                         .findFirst()
-                        .map(ParishionerEmbeddedDto::new)
                         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parishioner Not Found")))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ParishionerEmbeddedDto addParishioner(ObjectId parishDocumentId, AddParishionerEmbeddedCommand addParishionerEmbeddedCommand) {
-        ParishDocument parishDocument = parishDocumentRepository.findById(parishDocumentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        parishDocumentCache.invalidateAfterCommit(parishDocumentId);
 
         ParishionerEmbedded parishionerEmbedded = ParishionerEmbedded.builder()
                 .id(new ObjectId())
@@ -194,41 +259,233 @@ public class ParishDocumentService {
                 .birthDate(addParishionerEmbeddedCommand.birthDate())
                 .build();
 
-        parishDocument.getParishioners().add(parishionerEmbedded);
-
-        parishDocumentRepository.save(parishDocument);
+        requireParish(updateParish(parishDocumentId, new Update().push(PARISHIONERS, parishionerEmbedded)));
         return new ParishionerEmbeddedDto(parishionerEmbedded);
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ParishionerEmbeddedDto updateParishioner(
             ObjectId parishDocumentId,
             ObjectId parishionerEmbeddedId,
             UpdateParishionerEmbeddedCommand updateParishionerEmbeddedCommand
     ) {
-        ParishDocument parishDocument = parishDocumentRepository.findById(parishDocumentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        parishDocumentCache.invalidateAfterCommit(parishDocumentId);
+
+        Update update = new Update()
+                .set(PARISHIONERS + ".$[p].firstName", updateParishionerEmbeddedCommand.firstName())
+                .set(PARISHIONERS + ".$[p].lastName", updateParishionerEmbeddedCommand.lastName())
+                .set(PARISHIONERS + ".$[p].birthDate", updateParishionerEmbeddedCommand.birthDate())
+                .filterArray(Criteria.where("p._id").is(parishionerEmbeddedId));
+
+        requireElement(parishDocumentId, updateElement(parishDocumentId, PARISHIONERS, parishionerEmbeddedId, update), "Parishioner Not Found");
+        return new ParishionerEmbeddedDto(new ParishionerEmbedded(
+                parishionerEmbeddedId,
+                updateParishionerEmbeddedCommand.firstName(),
+                updateParishionerEmbeddedCommand.lastName(),
+                updateParishionerEmbeddedCommand.birthDate()
+        ));
+    }
 
-        ParishionerEmbedded parishionerEmbedded = parishDocument.getParishioners().stream()
-                .filter(p -> p.getId().equals(parishionerEmbeddedId))
-                .findFirst()
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parishioner Not Found"));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void removeParishioner(ObjectId parishDocumentId, ObjectId parishionerEmbeddedId) {
+        parishDocumentCache.invalidateAfterCommit(parishDocumentId);
 
-        parishionerEmbedded.setFirstName(updateParishionerEmbeddedCommand.firstName());
-        parishionerEmbedded.setLastName(updateParishionerEmbeddedCommand.lastName());
-        parishionerEmbedded.setBirthDate(updateParishionerEmbeddedCommand.birthDate());
+        requireParish(updateParish(parishDocumentId, new Update().pull(PARISHIONERS, new Document("_id", parishionerEmbeddedId))));
+    }
 
-        parishDocumentRepository.save(parishDocument);
-        return new ParishionerEmbeddedDto(parishionerEmbedded);
+    // ============================================================
+    // MAPPING – auch vom reaktiven Service verwendet
+    // ============================================================
+
+    static ParishDocument newParishDocument(ParishDocumentDto parishDocumentDto) {
+        return ParishDocument.builder()
+                .name(parishDocumentDto.name())
+                .location(parishDocumentDto.location())
+                .foundedYear(parishDocumentDto.foundedYear())
+                .foundedYearIndexed(parishDocumentDto.foundedYear())
+                .priests(parishDocumentDto.priests().stream().map(priestEmbeddedDto ->
+                        PriestEmbedded.builder()
+                                .id(new ObjectId())
+                                .firstName(priestEmbeddedDto.firstName())
+                                .lastName(priestEmbeddedDto.lastName())
+                                .ordinationDate(priestEmbeddedDto.ordinationDate())
+                        .build()
+                ).toList())
+                .parishioners(parishDocumentDto.parishioners().stream().map(parisherEmbeddedDto ->
+                        ParishionerEmbedded.builder()
+                                .id(new ObjectId())
+                                .firstName(parisherEmbeddedDto.firstName())
+                                .lastName(parisherEmbeddedDto.lastName())
+                                .birthDate(parisherEmbeddedDto.birthDate())
+                        .build()
+                ).toList())
+        .build();
     }
 
-    @Transactional(readOnly = false)
-    public void removeParishioner(ObjectId parishDocumentId, ObjectId parishionerEmbeddedId) {
-        ParishDocument parishDocument = parishDocumentRepository.findById(parishDocumentId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+    static void applyUpdate(ParishDocument parish, ParishDocumentDto parishDocumentDto) {
+        parish.setName(parishDocumentDto.name());
+        parish.setLocation(parishDocumentDto.location());
+        parish.setFoundedYear(parishDocumentDto.foundedYear());
+        parish.setFoundedYearIndexed(parishDocumentDto.foundedYear());
+        parish.setPriests(parishDocumentDto.priests().stream().map(priestEmbeddedDto ->
+                PriestEmbedded.builder()
+                    .id(new ObjectId(priestEmbeddedDto.id()))
+                    .firstName(priestEmbeddedDto.firstName())
+                    .lastName(priestEmbeddedDto.lastName())
+                    .ordinationDate(priestEmbeddedDto.ordinationDate())
+                .build()
+        ).toList());
+        parish.setParishioners(parishDocumentDto.parishioners().stream().map(parisherEmbeddedDto ->
+                ParishionerEmbedded.builder()
+                        .id(new ObjectId(parisherEmbeddedDto.id()))
+                        .firstName(parisherEmbeddedDto.firstName())
+                        .lastName(parisherEmbeddedDto.lastName())
+                        .birthDate(parisherEmbeddedDto.birthDate())
+                .build()
+        ).toList());
+    }
 
-        parishDocument.getParishioners().removeIf(p -> p.getId().equals(parishionerEmbeddedId));
+    // ============================================================
+    // BATCH – ein ungeordneter Bulk-Write pro Chunk, Fehler einzelner Dokumente brechen den Rest nicht ab
+    // ============================================================
+
+    /** Ohne id anlegen, mit id das ganze Dokument ersetzen (Felder per $set, Version per $inc) */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDto saveParishDocuments(Iterator<ParishDocumentDto> parishDocumentDtos) {
+        return batchProcessor.process(parishDocumentDtos, this::writeParishDocuments);
+    }
+
+    private List<BatchItemResultDto> writeParishDocuments(List<BatchItem<ParishDocumentDto>> chunk) {
+        Set<ObjectId> existing = existingIds(BatchItem.ids(chunk, dto -> dto.id() != null && ObjectId.isValid(dto.id()) ? new ObjectId(dto.id()) : null));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ParishDocument.class);
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+        // Position der Operation im Bulk-Write -> Position in results
+        List<Integer> operations = new ArrayList<>(chunk.size());
+        List<ObjectId> updated = new ArrayList<>();
+
+        for (BatchItem<ParishDocumentDto> item : chunk) {
+            ParishDocumentDto dto = item.command();
+
+            if (dto.id() != null && !ObjectId.isValid(dto.id())) {
+                results.add(BatchItemResultDto.invalid(item.index(), "id is not a valid ObjectId"));
+                continue;
+            }
+
+            List<PriestEmbedded> priests;
+            List<ParishionerEmbedded> parishioners;
+            try {
+                priests = dto.priests() == null ? List.of() : dto.priests().stream().map(priest -> PriestEmbedded.builder()
+                        .id(dto.id() == null || priest.id() == null ? new ObjectId() : new ObjectId(priest.id()))
+                        .firstName(priest.firstName())
+                        .lastName(priest.lastName())
+                        .ordinationDate(priest.ordinationDate())
+                        .build()
+                ).toList();
+                parishioners = dto.parishioners() == null ? List.of() : dto.parishioners().stream().map(parishioner -> ParishionerEmbedded.builder()
+                        .id(dto.id() == null || parishioner.id() == null ? new ObjectId() : new ObjectId(parishioner.id()))
+                        .firstName(parishioner.firstName())
+                        .lastName(parishioner.lastName())
+                        .birthDate(parishioner.birthDate())
+                        .build()
+                ).toList();
+            } catch (IllegalArgumentException e) {
+                results.add(BatchItemResultDto.invalid(item.index(), "embedded id is not a valid ObjectId"));
+                continue;
+            }
+
+            if (dto.id() == null) {
+                ObjectId id = new ObjectId();
+                bulk.insert(ParishDocument.builder()
+                        .id(id)
+                        .name(dto.name())
+                        .location(dto.location())
+                        .foundedYear(dto.foundedYear())
+                        .foundedYearIndexed(dto.foundedYear())
+                        .priests(priests)
+                        .parishioners(parishioners)
+                        .version(0L)
+                        .build());
+                operations.add(results.size());
+                results.add(BatchItemResultDto.created(item.index(), id.toHexString()));
+                continue;
+            }
+
+            ObjectId id = new ObjectId(dto.id());
+            if (!existing.contains(id)) {
+                results.add(BatchItemResultDto.notFound(item.index(), dto.id()));
+                continue;
+            }
+
+            bulk.updateOne(Query.query(Criteria.where("_id").is(id)), new Update()
+                    .set("name", dto.name())
+                    .set("location", dto.location())
+                    .set("foundedYear", dto.foundedYear())
+                    .set("foundedYearIndexed", dto.foundedYear())
+                    .set(PRIESTS, priests)
+                    .set(PARISHIONERS, parishioners)
+                    .inc(VERSION, 1));
+            operations.add(results.size());
+            results.add(BatchItemResultDto.updated(item.index(), dto.id()));
+            updated.add(id);
+        }
+
+        if (!operations.isEmpty()) {
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    int position = operations.get(error.getIndex());
+                    results.set(position, BatchItemResultDto.failed(results.get(position).index(), error.getMessage()));
+                }
+            }
+        }
+
+        updated.forEach(parishDocumentCache::invalidateAfterCommit);
+        return results;
+    }
+
+    private Set<ObjectId> existingIds(List<ObjectId> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+
+        Set<ObjectId> existing = new HashSet<>();
+        mongoTemplate.find(query, ParishDocument.class).forEach(parish -> existing.add(parish.getId()));
+        return existing;
+    }
+
+    // ============================================================
+    // GEZIELTE UPDATES – ändern nur das betroffene Array-Element, der Rest des Dokuments wird weder gelesen noch geschrieben
+    // ============================================================
+
+    /** Erhöht auch die Version, damit ein gleichzeitiges save() des ganzen Dokuments die Änderung nicht überschreibt */
+    private UpdateResult updateParish(ObjectId parishDocumentId, Update update) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(parishDocumentId)), update.inc(VERSION, 1), ParishDocument.class);
+    }
+
+    /** Matcht nur, wenn das Element existiert – sonst würde $[p] stillschweigend nichts ändern */
+    private UpdateResult updateElement(ObjectId parishDocumentId, String array, ObjectId elementId, Update update) {
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(parishDocumentId).and(array + "._id").is(elementId)),
+                update.inc(VERSION, 1),
+                ParishDocument.class
+        );
+    }
+
+    private static void requireParish(UpdateResult result) {
+        if (result.getMatchedCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found");
+        }
+    }
 
-        parishDocumentRepository.save(parishDocument);
+    private void requireElement(ObjectId parishDocumentId, UpdateResult result, String notFound) {
+        if (result.getMatchedCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    parishDocumentRepository.existsById(parishDocumentId) ? notFound : "Parish Not Found");
+        }
     }
 }
@@ -0,0 +1,96 @@
+package at.spengergasse.ehif_dbi.service.mongo;
+
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentDto;
+import at.spengergasse.ehif_dbi.dtos.mongo.ParishDocumentSummaryDto;
+import at.spengergasse.ehif_dbi.persistence.mongo.ReactiveParishDocumentRepository;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import at.spengergasse.ehif_dbi.service.retry.OptimisticRetryProperties;
+import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Reaktiver Zugriff auf dieselbe Collection wie {@link ParishDocumentService}.
+ * Keine Transaktionen (der Transaction Manager ist blockierend), Lesezugriffe gehen direkt
+ * auf die Datenbank und nicht über den Read-Through-Cache.
+ */
+@AllArgsConstructor
+
+@Service
+public class ReactiveParishDocumentService {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    private ReactiveParishDocumentRepository reactiveParishDocumentRepository;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private ReadThroughCache<ObjectId, ParishDocumentDto> parishDocumentCache;
+    private OptimisticRetryProperties optimisticRetryProperties;
+
+    /**
+     * Der Treiber holt den nächsten Cursor-Batch erst, wenn der Subscriber wieder Nachfrage signalisiert –
+     * ein langsamer Client bremst damit die Datenbank statt den Heap zu füllen.
+     */
+    public Flux<ParishDocumentDto> streamParishDocuments() {
+        return reactiveMongoTemplate.find(new Query().cursorBatchSize(CURSOR_BATCH_SIZE), ParishDocument.class)
+                .map(ParishDocumentDto::new);
+    }
+
+    public Flux<ParishDocumentDto> getParishDocumentsByFoundedYearBetween(int minFoundedYear, int maxFoundedYear) {
+        return reactiveParishDocumentRepository.findAllByFoundedYearBetween(minFoundedYear, maxFoundedYear)
+                .map(ParishDocumentDto::new);
+    }
+
+    public Flux<ParishDocumentSummaryDto> getParishDocumentSummaries() {
+        return reactiveParishDocumentRepository.findAllSummaries();
+    }
+
+    public Mono<ParishDocumentDto> getParishDocumentById(ObjectId id) {
+        return reactiveParishDocumentRepository.findById(id).map(ParishDocumentDto::new);
+    }
+
+    public Mono<ParishDocumentDto> createParishDocument(ParishDocumentDto parishDocumentDto) {
+        return Mono.fromSupplier(() -> ParishDocumentService.newParishDocument(parishDocumentDto))
+                .flatMap(reactiveParishDocumentRepository::save)
+                .map(ParishDocumentDto::new);
+    }
+
+    /** Bei einem Versionskonflikt wird neu abonniert, also das Dokument neu geladen und die Änderung erneut angewendet */
+    public Mono<ParishDocumentDto> updateParishDocument(ParishDocumentDto parishDocumentDto) {
+        ObjectId id = new ObjectId(parishDocumentDto.id());
+
+        return reactiveParishDocumentRepository.findById(id)
+                .flatMap(parish -> {
+                    ParishDocumentService.applyUpdate(parish, parishDocumentDto);
+                    return reactiveParishDocumentRepository.save(parish);
+                })
+                .retryWhen(optimisticRetry())
+                .map(ParishDocumentDto::new)
+                .doOnSuccess(parish -> parishDocumentCache.invalidateAfterCommit(id));
+    }
+
+    public Mono<ParishDocumentDto> deleteParishDocument(ObjectId parishDocumentId) {
+        return reactiveParishDocumentRepository.findById(parishDocumentId)
+                .flatMap(parish -> reactiveParishDocumentRepository.delete(parish).thenReturn(new ParishDocumentDto(parish)))
+                .retryWhen(optimisticRetry())
+                .doOnSuccess(parish -> parishDocumentCache.invalidateAfterCommit(parishDocumentId));
+    }
+
+    /** Gleiche Grenzen wie OptimisticRetryExecutor, das Warten übernimmt ein Reactor-Timer statt eines blockierten Threads */
+    private Retry optimisticRetry() {
+        return Retry.backoff(optimisticRetryProperties.maxAttempts() - 1, optimisticRetryProperties.initialBackoff())
+                .maxBackoff(optimisticRetryProperties.maxBackoff())
+                .jitter(1.0)
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) ->
+                        new ResponseStatusException(HttpStatus.CONFLICT, "Concurrent Modification", signal.failure()));
+    }
+}
@@ -0,0 +1,20 @@
+package at.spengergasse.ehif_dbi.service.mongo;
+
+import com.mongodb.WriteConcern;
+
+public enum WriteConcernLevel {
+    W0(WriteConcern.UNACKNOWLEDGED),
+    W1(WriteConcern.W1),
+    MAJORITY(WriteConcern.MAJORITY),
+    JOURNALED(WriteConcern.JOURNALED);
+
+    private final WriteConcern writeConcern;
+
+    WriteConcernLevel(WriteConcern writeConcern) {
+        this.writeConcern = writeConcern;
+    }
+
+    public WriteConcern writeConcern() {
+        return writeConcern;
+    }
+}
@@ -0,0 +1,169 @@
+package at.spengergasse.ehif_dbi.service.postgres;
+
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
+import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Schreibt Parishes samt Priests, Parishioners und Join-Tabelle per COPY (CSV) statt über JPA.
+ * Läuft auf der Verbindung der aktuellen Transaktion, kann also mit JPA-Zugriffen gemischt werden.
+ * Die übergebenen Entities bekommen die vergebenen Ids gesetzt, sind aber nicht managed.
+ */
+@AllArgsConstructor
+
+@Service
+@Transactional(readOnly=true)
+public class ParishBulkLoadService {
+
+    // Hibernate-Default: Sequenzen mit INCREMENT 50 und "pooled"-Optimizer,
+    // ein nextval-Wert X gehört zum Block X-49..X – so kollidieren wir nicht mit JPA-Inserts
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String COPY_PARISH = "COPY parish (id, name, location, founded_year, version) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_PRIEST = "COPY priest (id, first_name, last_name, ordination_date) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_PARISHIONER = "COPY parishioner (id, first_name, last_name, birth_date, parish_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_PARISH_PRIEST = "COPY parish_priest (parish_id, priest_id) FROM STDIN WITH (FORMAT csv)";
+
+    private DataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+
+    /** Priests ohne Id werden neu angelegt, vorhandene Priests nur verknüpft */
+    @Transactional(readOnly = false)
+    public int copyParishes(List<Parish> parishes) {
+        if (parishes.isEmpty()) {
+            return 0;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            Set<Priest> newPriests = new LinkedHashSet<>();
+            List<Parishioner> parishioners = new ArrayList<>();
+            for (Parish parish : parishes) {
+                parish.getPriests().stream().filter(priest -> priest.getId() == null).forEach(newPriests::add);
+                parishioners.addAll(parish.getParishioners());
+            }
+
+            Iterator<Long> parishIds = reserveIds(connection, "parish_seq", parishes.size());
+            parishes.forEach(parish -> {
+                parish.setId(new Parish.ParishId(parishIds.next()));
+                parish.setVersion(0L);
+            });
+
+            Iterator<Long> priestIds = reserveIds(connection, "priest_seq", newPriests.size());
+            newPriests.forEach(priest -> priest.setId(new Priest.PriestId(priestIds.next())));
+
+            Iterator<Long> parishionerIds = reserveIds(connection, "parishioner_seq", parishioners.size());
+            parishioners.forEach(parishioner -> parishioner.setId(new Parishioner.ParishionerId(parishionerIds.next())));
+
+            StringBuilder parishRows = new StringBuilder();
+            StringBuilder parishionerRows = new StringBuilder();
+            StringBuilder joinRows = new StringBuilder();
+            for (Parish parish : parishes) {
+                long parishId = parish.getId().id();
+                row(parishRows, parishId, parish.getName(), parish.getLocation(), parish.getFoundedYear(), parish.getVersion());
+
+                for (Priest priest : parish.getPriests()) {
+                    row(joinRows, parishId, priest.getId().id());
+                }
+                for (Parishioner parishioner : parish.getParishioners()) {
+                    parishioner.setParish(parish);
+                    row(parishionerRows, parishioner.getId().id(), parishioner.getFirstName(), parishioner.getLastName(), parishioner.getBirthDate(), parishId);
+                }
+            }
+
+            StringBuilder priestRows = new StringBuilder();
+            for (Priest priest : newPriests) {
+                row(priestRows, priest.getId().id(), priest.getFirstName(), priest.getLastName(), priest.getOrdinationDate());
+            }
+
+            // Reihenfolge wegen Foreign Keys: erst Parish/Priest, dann die abhängigen Tabellen
+            copy(copyManager, COPY_PARISH, parishRows);
+            copy(copyManager, COPY_PRIEST, priestRows);
+            copy(copyManager, COPY_PARISHIONER, parishionerRows);
+            copy(copyManager, COPY_PARISH_PRIEST, joinRows);
+
+            evictSecondLevelCache(parishes, newPriests);
+
+            return parishes.size();
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Bulk load of parishes failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /** COPY läuft an Hibernate vorbei: Query-Cache-Ergebnisse und die Parishes bereits vorhandener Priests sind veraltet */
+    private void evictSecondLevelCache(List<Parish> parishes, Set<Priest> newPriests) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictQueryRegions();
+
+        parishes.stream()
+                .flatMap(parish -> parish.getPriests().stream())
+                .filter(priest -> !newPriests.contains(priest))
+                .forEach(priest -> cache.evictCollectionData(Priest.class.getName() + ".parishes", priest.getId()));
+    }
+
+    private static Iterator<Long> reserveIds(Connection connection, String sequence, int count) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT nextval(?) FROM generate_series(1, ?)")) {
+            while (ids.size() < count) {
+                statement.setString(1, sequence);
+                statement.setInt(2, (count - ids.size() + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long high = resultSet.getLong(1);
+                        for (long id = Math.max(1, high - ALLOCATION_SIZE + 1); id <= high; id++) {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+        }
+
+        return ids.iterator();
+    }
+
+    private static void copy(CopyManager copyManager, String sql, StringBuilder rows) throws SQLException, IOException {
+        if (!rows.isEmpty()) {
+            copyManager.copyIn(sql, new StringReader(rows.toString()));
+        }
+    }
+
+    private static void row(StringBuilder out, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                out.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof LocalDate || value instanceof Number) {
+                out.append(value);
+            }
+            // null bleibt leer = NULL im CSV-Format
+        }
+        out.append('\n');
+    }
+}
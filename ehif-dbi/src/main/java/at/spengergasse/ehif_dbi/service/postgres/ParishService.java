@@ -2,11 +2,15 @@ package at.spengergasse.ehif_dbi.service.postgres;
 
 import at.spengergasse.ehif_dbi.commands.postgres.AddParishionerCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.AddPriestCommand;
+import at.spengergasse.ehif_dbi.commands.postgres.BatchParishCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.CreateParishCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.UpdateParishCommand;
 import at.spengergasse.ehif_dbi.domain.postgres.Parish;
 import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
 import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import at.spengergasse.ehif_dbi.dtos.BatchItemResultDto;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishSummaryDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerSummaryDto;
@@ -14,14 +18,31 @@ import at.spengergasse.ehif_dbi.dtos.postgres.PriestSummaryDto;
 import at.spengergasse.ehif_dbi.persistence.postgres.ParishRepository;
 import at.spengergasse.ehif_dbi.persistence.postgres.ParishionerRepository;
 import at.spengergasse.ehif_dbi.persistence.postgres.PriestRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.StreamingHints;
+import at.spengergasse.ehif_dbi.service.KeysetCursor;
+import at.spengergasse.ehif_dbi.service.PageOrder;
+import at.spengergasse.ehif_dbi.service.batch.BatchItem;
+import at.spengergasse.ehif_dbi.service.batch.BatchProcessor;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import at.spengergasse.ehif_dbi.service.retry.OptimisticRetryExecutor;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 
@@ -32,17 +53,69 @@ public class ParishService {
     private ParishRepository parishRepository;
     private PriestRepository priestRepository;
     private ParishionerRepository parishionerRepository;
+    private EntityManager entityManager;
+    private ReadThroughCache<Parish.ParishId, ParishDto> parishCache;
+    private OptimisticRetryExecutor optimisticRetryExecutor;
+    private BatchProcessor batchProcessor;
 
     public List<ParishDto> getParishes() {
-        return parishRepository.findAll().stream().map(ParishDto::new).toList();
+        List<Parish> parishes = parishRepository.findAllWithPriests();
+        // initialisiert die parishioners derselben Instanzen im Persistence Context
+        parishRepository.findAllWithParishioners();
+        return parishes.stream().map(ParishDto::new).toList();
+    }
+
+    /**
+     * Liest per Cursor und leert den Persistence Context regelmäßig, damit der Speicher
+     * unabhängig von der Anzahl Zeilen konstant bleibt.
+     */
+    public void streamParishes(Consumer<ParishDto> consumer) {
+        try (Stream<Parish> parishes = parishRepository.streamAll()) {
+            int count = 0;
+            for (Iterator<Parish> iterator = parishes.iterator(); iterator.hasNext(); ) {
+                consumer.accept(new ParishDto(iterator.next()));
+                if (++count % StreamingHints.CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /** Keyset-Pagination über id bzw. (foundedYear, id); Parishes ohne foundedYear fehlen in der sortierten Ansicht */
+    public SliceDto<ParishDto> getParishPage(int size, String cursor, PageOrder order) {
+        Limit limit = Limit.of(size + 1);
+
+        List<Parish> parishes = switch (order) {
+            case ID -> parishRepository.findPageAfterId(cursor == null ? 0L : KeysetCursor.decodeLong(cursor), limit);
+            case FOUNDED_YEAR -> {
+                if (cursor == null) {
+                    yield parishRepository.findPageAfterFoundedYear(Integer.MIN_VALUE, 0L, limit);
+                }
+                String[] keys = KeysetCursor.decode(cursor, 2);
+                try {
+                    yield parishRepository.findPageAfterFoundedYear(Integer.parseInt(keys[0]), Long.parseLong(keys[1]), limit);
+                } catch (NumberFormatException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Cursor");
+                }
+            }
+        };
+
+        return SliceDto.of(
+                parishes,
+                size,
+                ParishDto::new,
+                parish -> order == PageOrder.ID
+                        ? KeysetCursor.encode(parish.getId().id())
+                        : KeysetCursor.encode(parish.getFoundedYear(), parish.getId().id())
+        );
     }
 
     public List<ParishSummaryDto> getParishSummaries() {
-        return parishRepository.findAll().stream().map(ParishSummaryDto::new).toList();
+        return parishRepository.findAllSummaries();
     }
 
     public Optional<ParishDto> getParishById(Parish.ParishId id) {
-        return parishRepository.findById(id).map(ParishDto::new);
+        return parishCache.get(id, key -> parishRepository.findById(key).map(ParishDto::new));
     }
 
     @Transactional(readOnly = false)
@@ -55,93 +128,175 @@ public class ParishService {
         ));
     }
 
-    @Transactional(readOnly = false)
+    /**
+     * Parish ist versioniert: Die Schreibmethoden laufen ohne umgebende Transaktion, damit jeder
+     * Versuch nach einem Versionskonflikt in einer neuen Transaktion den aktuellen Stand liest.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<ParishDto> updateParish(Parish.ParishId parishId, UpdateParishCommand updateParishCommand) {
-        return parishRepository.findById(parishId)
-                .map(parish -> {
-                    parish.setName(updateParishCommand.name());
-                    parish.setLocation(updateParishCommand.location());
-                    parish.setFoundedYear(updateParishCommand.foundedYear());
-                    return parishRepository.save(parish);
-                })
-                .map(ParishDto::new);
+        return optimisticRetryExecutor.executeInTransaction(() -> {
+            parishCache.invalidateAfterCommit(parishId);
+
+            return parishRepository.findById(parishId)
+                    .map(parish -> {
+                        parish.setName(updateParishCommand.name());
+                        parish.setLocation(updateParishCommand.location());
+                        parish.setFoundedYear(updateParishCommand.foundedYear());
+                        return parishRepository.save(parish);
+                    })
+                    .map(ParishDto::new);
+        });
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<ParishDto> deleteParish(Parish.ParishId parishId) {
-        return parishRepository.findById(parishId)
-                .map(parish -> {
-                    parishRepository.delete(parish);
-                    return new ParishDto(parish);
-                });
+        return optimisticRetryExecutor.executeInTransaction(() -> {
+            parishCache.invalidateAfterCommit(parishId);
+
+            return parishRepository.findById(parishId)
+                    .map(parish -> {
+                        parishRepository.delete(parish);
+                        return new ParishDto(parish);
+                    });
+        });
     }
 
     public List<PriestSummaryDto> getPriests(Parish.ParishId parishId) {
-        return parishRepository.findById(parishId)
-                .map(parish -> parish.getPriests().stream().map(PriestSummaryDto::new).toList())
+        return getParishById(parishId)
+                .map(ParishDto::priests)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
     }
 
-    @Transactional(readOnly = false)
+    /** Änderungen an priests erhöhen die Version der Parish */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PriestSummaryDto addPriest(Parish.ParishId parishId, AddPriestCommand addPriestCommand) {
-        Parish parish = parishRepository.findById(parishId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        return optimisticRetryExecutor.executeInTransaction(() -> {
+            parishCache.invalidateAfterCommit(parishId);
+
+            Parish parish = parishRepository.findById(parishId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
 
-        Priest priest = priestRepository.findById(new Priest.PriestId(addPriestCommand.priestId()))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Priest Not Found"));
+            Priest priest = priestRepository.findById(new Priest.PriestId(addPriestCommand.priestId()))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Priest Not Found"));
 
-        parish.getPriests().add(priest);
+            parish.getPriests().add(priest);
 
-        return new PriestSummaryDto(priest);
+            return new PriestSummaryDto(priest);
+        });
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void removePriest(Parish.ParishId parishId, Priest.PriestId priestId) {
-        Parish parish = parishRepository.findById(parishId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        optimisticRetryExecutor.executeInTransaction(() -> {
+            parishCache.invalidateAfterCommit(parishId);
 
-        Priest priest = priestRepository.findById(priestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Priest Not Found"));
+            Parish parish = parishRepository.findById(parishId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
 
-        parish.getPriests().remove(priest);
+            Priest priest = priestRepository.findById(priestId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Priest Not Found"));
+
+            return parish.getPriests().remove(priest);
+        });
     }
 
     public List<ParishionerSummaryDto> getParishioners(Parish.ParishId parishId) {
-        return parishRepository.findById(parishId)
-                .map(parish -> parish.getParishioners().stream().map(ParishionerSummaryDto::new).toList())
+        return getParishById(parishId)
+                .map(ParishDto::parishioners)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ParishionerSummaryDto addParishioner(Parish.ParishId parishId, AddParishionerCommand addParishionerCommand) {
-        Parish parish = parishRepository.findById(parishId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        return optimisticRetryExecutor.executeInTransaction(() -> {
+            parishCache.invalidateAfterCommit(parishId);
+
+            Parish parish = parishRepository.findById(parishId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+
+            Parishioner parishioner = parishionerRepository.findById(new Parishioner.ParishionerId(addParishionerCommand.parishionerId()))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parishioner Not Found"));
 
-        Parishioner parishioner = parishionerRepository.findById(new Parishioner.ParishionerId(addParishionerCommand.parishionerId()))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parishioner Not Found"));
+            // Die bisherige Parish listet den Parishioner sonst weiterhin
+            if (parishioner.getParish() != null) {
+                parishCache.invalidateAfterCommit(parishioner.getParish().getId());
+            }
 
-        parishioner.setParish(parish);
-        parish.getParishioners().add(parishioner);
-        parishionerRepository.save(parishioner);
+            parishioner.setParish(parish);
+            parish.getParishioners().add(parishioner);
+            parishionerRepository.save(parishioner);
 
-        return new ParishionerSummaryDto(parishioner);
+            return new ParishionerSummaryDto(parishioner);
+        });
     }
 
-    @Transactional(readOnly = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void removeParishioner(Parish.ParishId parishId, Parishioner.ParishionerId parishionerId) {
-        Parish parish = parishRepository.findById(parishId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
+        optimisticRetryExecutor.executeInTransaction(() -> {
+            parishCache.invalidateAfterCommit(parishId);
 
-        Parishioner parishioner = parishionerRepository.findById(parishionerId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parishioner Not Found"));
+            Parish parish = parishRepository.findById(parishId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parish Not Found"));
 
-        if (!parishioner.getParish().getId().equals(parishId)) {
-            throw new IllegalArgumentException("Parishioner not associated with Parish");
-        }
+            Parishioner parishioner = parishionerRepository.findById(parishionerId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parishioner Not Found"));
+
+            if (!parishioner.getParish().getId().equals(parishId)) {
+                throw new IllegalArgumentException("Parishioner not associated with Parish");
+            }
+
+            parishioner.setParish(null);
+            parish.getParishioners().remove(parishioner);
+
+            return parishionerRepository.save(parishioner);
+        });
+    }
+
+    /**
+     * Ohne id anlegen, mit id aktualisieren. Jeder Chunk läuft in einer eigenen Transaktion und wird
+     * per JDBC-Batching geschrieben, die bestehenden Parishes eines Chunks lädt eine einzige Abfrage.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDto saveParishes(Iterator<BatchParishCommand> commands) {
+        return batchProcessor.processInTransactions(commands, this::writeParishes);
+    }
+
+    private List<BatchItemResultDto> writeParishes(List<BatchItem<BatchParishCommand>> chunk) {
+        Map<Parish.ParishId, Parish> existing = parishRepository
+                .findAllById(BatchItem.ids(chunk, command -> command.id() == null ? null : new Parish.ParishId(command.id())))
+                .stream()
+                .collect(Collectors.toMap(Parish::getId, Function.identity()));
+
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
 
-        parishioner.setParish(null);
-        parish.getParishioners().remove(parishioner);
+        for (BatchItem<BatchParishCommand> item : chunk) {
+            BatchParishCommand command = item.command();
+
+            if (command.id() == null) {
+                Parish parish = parishRepository.save(Parish.builder()
+                        .name(command.name())
+                        .location(command.location())
+                        .foundedYear(command.foundedYear())
+                        .build());
+                results.add(BatchItemResultDto.created(item.index(), parish.getId().id()));
+                continue;
+            }
+
+            Parish parish = existing.get(new Parish.ParishId(command.id()));
+            if (parish == null) {
+                results.add(BatchItemResultDto.notFound(item.index(), command.id()));
+                continue;
+            }
+
+            parishCache.invalidateAfterCommit(parish.getId());
+            parish.setName(command.name());
+            parish.setLocation(command.location());
+            parish.setFoundedYear(command.foundedYear());
+            results.add(BatchItemResultDto.updated(item.index(), command.id()));
+        }
 
-        parishionerRepository.save(parishioner);
+        parishRepository.flush();
+        entityManager.clear();
+        return results;
     }
 }
@@ -1,17 +1,38 @@
 package at.spengergasse.ehif_dbi.service.postgres;
 
+import at.spengergasse.ehif_dbi.commands.postgres.BatchParishionerCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.CreateParishionerCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.UpdateParishionerCommand;
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
 import at.spengergasse.ehif_dbi.domain.postgres.Parishioner;
+import at.spengergasse.ehif_dbi.dtos.BatchItemResultDto;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.ParishDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.ParishionerSummaryDto;
 import at.spengergasse.ehif_dbi.persistence.postgres.ParishionerRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.StreamingHints;
+import at.spengergasse.ehif_dbi.service.KeysetCursor;
+import at.spengergasse.ehif_dbi.service.batch.BatchItem;
+import at.spengergasse.ehif_dbi.service.batch.BatchProcessor;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 
@@ -20,13 +41,43 @@ import java.util.Optional;
 public class ParishionerService {
 
     private ParishionerRepository parishionerRepository;
+    private ReadThroughCache<Parish.ParishId, ParishDto> parishCache;
+    private EntityManager entityManager;
+    private BatchProcessor batchProcessor;
 
     public List<ParishionerDto> getParishioners() {
-        return parishionerRepository.findAll().stream().map(ParishionerDto::new).toList();
+        return parishionerRepository.findAllWithParish().stream().map(ParishionerDto::new).toList();
+    }
+
+    /**
+     * Liest per Cursor und leert den Persistence Context regelmäßig, damit der Speicher
+     * unabhängig von der Anzahl Zeilen konstant bleibt.
+     */
+    public void streamParishioners(Consumer<ParishionerDto> consumer) {
+        try (Stream<Parishioner> parishioners = parishionerRepository.streamAll()) {
+            int count = 0;
+            for (Iterator<Parishioner> iterator = parishioners.iterator(); iterator.hasNext(); ) {
+                consumer.accept(new ParishionerDto(iterator.next()));
+                if (++count % StreamingHints.CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    public SliceDto<ParishionerDto> getParishionerPage(int size, String cursor) {
+        long afterId = cursor == null ? 0L : KeysetCursor.decodeLong(cursor);
+
+        return SliceDto.of(
+                parishionerRepository.findPageAfterId(afterId, Limit.of(size + 1)),
+                size,
+                ParishionerDto::new,
+                parishioner -> KeysetCursor.encode(parishioner.getId().id())
+        );
     }
 
     public List<ParishionerSummaryDto> getParishionerSummaries() {
-        return parishionerRepository.findAll().stream().map(ParishionerSummaryDto::new).toList();
+        return parishionerRepository.findAllSummaries();
     }
 
     public Optional<ParishionerDto> getParishionerById(Parishioner.ParishionerId id) {
@@ -47,6 +98,7 @@ public class ParishionerService {
     public Optional<ParishionerDto> updateParishioner(Parishioner.ParishionerId parishionerId, UpdateParishionerCommand updateParishionerCommand) {
         return parishionerRepository.findById(parishionerId)
                 .map(parishioner -> {
+                    invalidateParish(parishioner);
                     parishioner.setFirstName(updateParishionerCommand.firstName());
                     parishioner.setLastName(updateParishionerCommand.lastName());
                     parishioner.setBirthDate(updateParishionerCommand.birthDate());
@@ -59,8 +111,61 @@ public class ParishionerService {
     public Optional<ParishionerDto> deleteParishioner(Parishioner.ParishionerId parishionerId) {
         return parishionerRepository.findById(parishionerId)
                 .map(parishioner -> {
+                    invalidateParish(parishioner);
                     parishionerRepository.delete(parishioner);
                     return new ParishionerDto(parishioner);
                 });
     }
+
+    // ParishDto enthält die Namen der Parishioners
+    private void invalidateParish(Parishioner parishioner) {
+        if (parishioner.getParish() != null) {
+            parishCache.invalidateAfterCommit(parishioner.getParish().getId());
+        }
+    }
+
+    /** Ohne id anlegen, mit id aktualisieren, chunkweise in eigenen Transaktionen (siehe ParishService#saveParishes) */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDto saveParishioners(Iterator<BatchParishionerCommand> commands) {
+        return batchProcessor.processInTransactions(commands, this::writeParishioners);
+    }
+
+    private List<BatchItemResultDto> writeParishioners(List<BatchItem<BatchParishionerCommand>> chunk) {
+        Map<Parishioner.ParishionerId, Parishioner> existing = parishionerRepository
+                .findAllById(BatchItem.ids(chunk, command -> command.id() == null ? null : new Parishioner.ParishionerId(command.id())))
+                .stream()
+                .collect(Collectors.toMap(Parishioner::getId, Function.identity()));
+
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+
+        for (BatchItem<BatchParishionerCommand> item : chunk) {
+            BatchParishionerCommand command = item.command();
+
+            if (command.id() == null) {
+                Parishioner parishioner = parishionerRepository.save(Parishioner.builder()
+                        .firstName(command.firstName())
+                        .lastName(command.lastName())
+                        .birthDate(command.birthDate())
+                        .build());
+                results.add(BatchItemResultDto.created(item.index(), parishioner.getId().id()));
+                continue;
+            }
+
+            Parishioner parishioner = existing.get(new Parishioner.ParishionerId(command.id()));
+            if (parishioner == null) {
+                results.add(BatchItemResultDto.notFound(item.index(), command.id()));
+                continue;
+            }
+
+            invalidateParish(parishioner);
+            parishioner.setFirstName(command.firstName());
+            parishioner.setLastName(command.lastName());
+            parishioner.setBirthDate(command.birthDate());
+            results.add(BatchItemResultDto.updated(item.index(), command.id()));
+        }
+
+        parishionerRepository.flush();
+        entityManager.clear();
+        return results;
+    }
 }
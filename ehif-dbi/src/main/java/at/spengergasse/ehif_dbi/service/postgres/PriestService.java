@@ -1,18 +1,39 @@
 package at.spengergasse.ehif_dbi.service.postgres;
 
+import at.spengergasse.ehif_dbi.commands.postgres.BatchPriestCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.CreatePriestCommand;
 import at.spengergasse.ehif_dbi.commands.postgres.UpdatePriestCommand;
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
 import at.spengergasse.ehif_dbi.domain.postgres.Priest;
+import at.spengergasse.ehif_dbi.dtos.BatchItemResultDto;
+import at.spengergasse.ehif_dbi.dtos.BatchResultDto;
+import at.spengergasse.ehif_dbi.dtos.SliceDto;
+import at.spengergasse.ehif_dbi.dtos.postgres.ParishDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.PriestDto;
 import at.spengergasse.ehif_dbi.dtos.postgres.PriestSummaryDto;
 import at.spengergasse.ehif_dbi.persistence.postgres.ParishRepository;
 import at.spengergasse.ehif_dbi.persistence.postgres.PriestRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.StreamingHints;
+import at.spengergasse.ehif_dbi.service.KeysetCursor;
+import at.spengergasse.ehif_dbi.service.batch.BatchItem;
+import at.spengergasse.ehif_dbi.service.batch.BatchProcessor;
+import at.spengergasse.ehif_dbi.service.cache.ReadThroughCache;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 
@@ -22,13 +43,43 @@ public class PriestService {
 
     private PriestRepository priestRepository;
     private ParishRepository parishRepository;
+    private ReadThroughCache<Parish.ParishId, ParishDto> parishCache;
+    private EntityManager entityManager;
+    private BatchProcessor batchProcessor;
 
     public List<PriestDto> getPriests() {
-        return priestRepository.findAll().stream().map(PriestDto::new).toList();
+        return priestRepository.findAllWithParishes().stream().map(PriestDto::new).toList();
+    }
+
+    /**
+     * Liest per Cursor und leert den Persistence Context regelmäßig, damit der Speicher
+     * unabhängig von der Anzahl Zeilen konstant bleibt.
+     */
+    public void streamPriests(Consumer<PriestDto> consumer) {
+        try (Stream<Priest> priests = priestRepository.streamAll()) {
+            int count = 0;
+            for (Iterator<Priest> iterator = priests.iterator(); iterator.hasNext(); ) {
+                consumer.accept(new PriestDto(iterator.next()));
+                if (++count % StreamingHints.CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    public SliceDto<PriestDto> getPriestPage(int size, String cursor) {
+        long afterId = cursor == null ? 0L : KeysetCursor.decodeLong(cursor);
+
+        return SliceDto.of(
+                priestRepository.findPageAfterId(afterId, Limit.of(size + 1)),
+                size,
+                PriestDto::new,
+                priest -> KeysetCursor.encode(priest.getId().id())
+        );
     }
 
     public List<PriestSummaryDto> getPriestSummaries() {
-        return priestRepository.findAll().stream().map(PriestSummaryDto::new).toList();
+        return priestRepository.findAllSummaries();
     }
 
     public Optional<PriestDto> getPriestById(Priest.PriestId id) {
@@ -49,6 +100,8 @@ public class PriestService {
     public Optional<PriestDto> updatePriest(Priest.PriestId priestId, UpdatePriestCommand updatePriestCommand) {
         return priestRepository.findById(priestId)
                 .map(priest -> {
+                    // ParishDto enthält die Namen der Priests
+                    priest.getParishes().forEach(parish -> parishCache.invalidateAfterCommit(parish.getId()));
                     priest.setFirstName(updatePriestCommand.firstName());
                     priest.setLastName(updatePriestCommand.lastName());
                     priest.setOrdinationDate(updatePriestCommand.ordinationDate());
@@ -61,8 +114,54 @@ public class PriestService {
     public Optional<PriestDto> deletePriest(Priest.PriestId priestId) {
         return priestRepository.findById(priestId)
                 .map(priest -> {
+                    priest.getParishes().forEach(parish -> parishCache.invalidateAfterCommit(parish.getId()));
                     priestRepository.delete(priest);
                     return new PriestDto(priest);
                 });
     }
+
+    /** Ohne id anlegen, mit id aktualisieren, chunkweise in eigenen Transaktionen (siehe ParishService#saveParishes) */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDto savePriests(Iterator<BatchPriestCommand> commands) {
+        return batchProcessor.processInTransactions(commands, this::writePriests);
+    }
+
+    private List<BatchItemResultDto> writePriests(List<BatchItem<BatchPriestCommand>> chunk) {
+        Map<Priest.PriestId, Priest> existing = priestRepository
+                .findAllById(BatchItem.ids(chunk, command -> command.id() == null ? null : new Priest.PriestId(command.id())))
+                .stream()
+                .collect(Collectors.toMap(Priest::getId, Function.identity()));
+
+        List<BatchItemResultDto> results = new ArrayList<>(chunk.size());
+
+        for (BatchItem<BatchPriestCommand> item : chunk) {
+            BatchPriestCommand command = item.command();
+
+            if (command.id() == null) {
+                Priest priest = priestRepository.save(Priest.builder()
+                        .firstName(command.firstName())
+                        .lastName(command.lastName())
+                        .ordinationDate(command.ordinationDate())
+                        .build());
+                results.add(BatchItemResultDto.created(item.index(), priest.getId().id()));
+                continue;
+            }
+
+            Priest priest = existing.get(new Priest.PriestId(command.id()));
+            if (priest == null) {
+                results.add(BatchItemResultDto.notFound(item.index(), command.id()));
+                continue;
+            }
+
+            priest.getParishes().forEach(parish -> parishCache.invalidateAfterCommit(parish.getId()));
+            priest.setFirstName(command.firstName());
+            priest.setLastName(command.lastName());
+            priest.setOrdinationDate(command.ordinationDate());
+            results.add(BatchItemResultDto.updated(item.index(), command.id()));
+        }
+
+        priestRepository.flush();
+        entityManager.clear();
+        return results;
+    }
 }
@@ -0,0 +1,80 @@
+package at.spengergasse.ehif_dbi.service.retry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Wiederholt Read-Modify-Write-Vorgänge, deren Versionsprüfung fehlgeschlagen ist. Jeder Versuch
+ * liest den aktuellen Stand neu; nach maxAttempts Konflikten antwortet der Service mit 409.
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticRetryExecutor {
+
+    private final OptimisticRetryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /** Für Stores ohne Transaktion (MongoDB), die Versionsprüfung passiert beim save() */
+    public <T> T execute(Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                backoff(attemptNumber, e);
+            }
+        }
+    }
+
+    /**
+     * Jeder Versuch in einer eigenen JPA-Transaktion, Hibernate prüft die Version erst beim Flush im Commit.
+     * Innerhalb einer laufenden Transaktion ist ein Retry sinnlos (Persistence Context veraltet,
+     * Transaktion rollback-only), dann wird genau einmal ausgeführt.
+     */
+    public <T> T executeInTransaction(Supplier<T> attempt) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return attempt.get();
+        }
+        return execute(() -> transactionTemplate.execute(status -> attempt.get()));
+    }
+
+    public long conflicts() {
+        return conflicts.sum();
+    }
+
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+    private void backoff(int attemptNumber, OptimisticLockingFailureException conflict) {
+        if (attemptNumber >= properties.maxAttempts()) {
+            exhausted.increment();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Concurrent Modification", conflict);
+        }
+
+        long ceiling = Math.min(
+                properties.maxBackoff().toNanos(),
+                properties.initialBackoff().toNanos() << Math.min(attemptNumber - 1, 20)
+        );
+
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
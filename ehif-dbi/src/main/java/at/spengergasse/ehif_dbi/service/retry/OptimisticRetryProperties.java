@@ -0,0 +1,18 @@
+package at.spengergasse.ehif_dbi.service.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * maxAttempts zählt den ersten Versuch mit. Die Wartezeit vor Versuch n ist zufällig
+ * zwischen 0 und min(maxBackoff, initialBackoff * 2^(n-2)) (Exponential Backoff mit Full Jitter).
+ */
+@ConfigurationProperties(prefix = "optimistic-retry")
+public record OptimisticRetryProperties(
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("5ms") Duration initialBackoff,
+        @DefaultValue("200ms") Duration maxBackoff
+) {
+}
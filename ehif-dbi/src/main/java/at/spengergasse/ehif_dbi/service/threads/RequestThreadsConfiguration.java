@@ -0,0 +1,27 @@
+package at.spengergasse.ehif_dbi.service.threads;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class RequestThreadsConfiguration {
+
+    /** Die Poolgröße im Plattform-Modus ist weiterhin server.tomcat.threads.max */
+    @Bean
+    public SwitchableRequestExecutor requestExecutor(Environment environment, ServerProperties serverProperties) {
+        return new SwitchableRequestExecutor(ThreadModel.configured(environment), serverProperties.getTomcat().getThreads().getMax());
+    }
+
+    /** Läuft nach Spring Boots eigenem Virtual-Thread-Customizer und ersetzt dessen Executor */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> requestExecutorCustomizer(SwitchableRequestExecutor requestExecutor) {
+        return factory -> factory.addProtocolHandlerCustomizers(protocolHandler -> protocolHandler.setExecutor(requestExecutor));
+    }
+}
@@ -0,0 +1,61 @@
+package at.spengergasse.ehif_dbi.service.threads;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor der Tomcat-Requests: entweder ein Pool aus {@code platformPoolSize} Plattform-Threads
+ * oder ein virtueller Thread pro Request. Umschalten betrifft nur neue Requests, laufende werden
+ * auf ihrem bisherigen Executor fertig.
+ */
+public class SwitchableRequestExecutor implements Executor, DisposableBean {
+
+    private final int platformPoolSize;
+    private final ThreadPoolExecutor platform;
+    private final ExecutorService virtual = Executors.newThreadPerTaskExecutor(ThreadModel.VIRTUAL.factory("http-vt-"));
+
+    private volatile ThreadModel model;
+
+    public SwitchableRequestExecutor(ThreadModel model, int platformPoolSize) {
+        this.model = model;
+        this.platformPoolSize = platformPoolSize;
+        this.platform = new ThreadPoolExecutor(
+                platformPoolSize,
+                platformPoolSize,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                ThreadModel.PLATFORM.factory("http-pt-")
+        );
+        // Threads entstehen erst bei Bedarf und verschwinden wieder, wie bei Tomcats eigenem Pool
+        this.platform.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        (model == ThreadModel.VIRTUAL ? virtual : platform).execute(command);
+    }
+
+    public ThreadModel getModel() {
+        return model;
+    }
+
+    public void setModel(ThreadModel model) {
+        this.model = model;
+    }
+
+    public int getPlatformPoolSize() {
+        return platformPoolSize;
+    }
+
+    @Override
+    public void destroy() {
+        platform.shutdown();
+        virtual.shutdown();
+    }
+}
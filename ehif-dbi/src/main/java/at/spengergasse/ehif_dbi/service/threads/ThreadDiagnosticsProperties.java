@@ -0,0 +1,18 @@
+package at.spengergasse.ehif_dbi.service.threads;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Gemeldet werden virtuelle Threads, die länger als pinningThreshold an ihren Carrier-Thread
+ * gebunden waren (JFR-Event jdk.VirtualThreadPinned).
+ */
+@ConfigurationProperties(prefix = "thread-diagnostics")
+public record ThreadDiagnosticsProperties(
+        @DefaultValue("true") boolean pinningEnabled,
+        @DefaultValue("20ms") Duration pinningThreshold,
+        @DefaultValue("10") int topFrames
+) {
+}
@@ -0,0 +1,23 @@
+package at.spengergasse.ehif_dbi.service.threads;
+
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ThreadFactory;
+
+public enum ThreadModel {
+    PLATFORM,
+    VIRTUAL;
+
+    /** Startmodus der ganzen Anwendung, gesteuert über spring.threads.virtual.enabled */
+    public static ThreadModel configured(Environment environment) {
+        return Threading.VIRTUAL.isActive(environment) ? VIRTUAL : PLATFORM;
+    }
+
+    public ThreadFactory factory(String prefix) {
+        return switch (this) {
+            case PLATFORM -> Thread.ofPlatform().name(prefix, 0).factory();
+            case VIRTUAL -> Thread.ofVirtual().name(prefix, 0).factory();
+        };
+    }
+}
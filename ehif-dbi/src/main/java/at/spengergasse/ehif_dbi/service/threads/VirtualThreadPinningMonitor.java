@@ -0,0 +1,115 @@
+package at.spengergasse.ehif_dbi.service.threads;
+
+import at.spengergasse.ehif_dbi.dtos.PinnedFrameDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streamt das JFR-Event jdk.VirtualThreadPinned im laufenden Prozess und zählt es pro Stelle.
+ * Seit JDK 24 pinnt synchronized nicht mehr, übrig bleiben native Frames (z.B. in Treibern)
+ * und Klasseninitialisierung – genau die soll der Monitor sichtbar machen.
+ */
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final ThreadDiagnosticsProperties properties;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final Map<String, FrameStats> frames = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        if (!properties.pinningEnabled()) {
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.pinningThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public boolean isActive() {
+        return stream != null;
+    }
+
+    public long pinnedEvents() {
+        return events.sum();
+    }
+
+    public double pinnedTotalMs() {
+        return pinnedNanos.sum() / 1_000_000.0;
+    }
+
+    public List<PinnedFrameDto> topFrames() {
+        return frames.entrySet().stream()
+                .map(entry -> new PinnedFrameDto(entry.getKey(), entry.getValue().events().sum(), entry.getValue().nanos().sum() / 1_000_000.0))
+                .sorted(Comparator.comparing(PinnedFrameDto::events).reversed())
+                .limit(properties.topFrames())
+                .toList();
+    }
+
+    public void reset() {
+        events.reset();
+        pinnedNanos.reset();
+        frames.clear();
+    }
+
+    private void record(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        events.increment();
+        pinnedNanos.add(nanos);
+
+        FrameStats stats = frames.computeIfAbsent(frame(event.getStackTrace()), key -> new FrameStats(new LongAdder(), new LongAdder()));
+        stats.events().increment();
+        stats.nanos().add(nanos);
+    }
+
+    /** Erster Frame außerhalb des JDK, dort sitzt meist der Treiber- oder Anwendungscode, der pinnt */
+    private static String frame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+
+        return stackTrace.getFrames().stream()
+                .filter(frame -> !isJdk(frame.getMethod().getType().getName()))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::format)
+                .orElseGet(() -> format(stackTrace.getFrames().getFirst()));
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private record FrameStats(LongAdder events, LongAdder nanos) {
+    }
+}
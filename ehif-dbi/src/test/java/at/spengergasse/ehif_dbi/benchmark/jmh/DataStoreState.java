@@ -0,0 +1,99 @@
+package at.spengergasse.ehif_dbi.benchmark.jmh;
+
+import at.spengergasse.ehif_dbi.EhifDbiApplication;
+import at.spengergasse.ehif_dbi.TestcontainersConfiguration;
+import at.spengergasse.ehif_dbi.benchmark.BenchmarkRunner;
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import at.spengergasse.ehif_dbi.persistence.mongo.ParishDocumentRepository;
+import at.spengergasse.ehif_dbi.persistence.postgres.ParishRepository;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startet einmal pro Fork den Spring-Context mit den Testcontainers aus
+ * {@link TestcontainersConfiguration} und befüllt beide Stores mit identischen Daten.
+ */
+@State(Scope.Benchmark)
+public class DataStoreState {
+
+    static final int FIRST_YEAR = 1970;
+    static final int YEAR_SPREAD = 50;
+
+    @Param({"1000", "100000"})
+    public int scale;
+
+    public ConfigurableApplicationContext context;
+    public ParishRepository parishRepository;
+    public ParishDocumentRepository parishDocumentRepository;
+    public BenchmarkRunner benchmarkRunner;
+    public TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = SpringApplication.from(EhifDbiApplication::main)
+                .with(TestcontainersConfiguration.class)
+                .run("--spring.main.web-application-type=none", "--spring.main.banner-mode=off")
+                .getApplicationContext();
+
+        parishRepository = context.getBean(ParishRepository.class);
+        parishDocumentRepository = context.getBean(ParishDocumentRepository.class);
+        benchmarkRunner = context.getBean(BenchmarkRunner.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    private void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            parishRepository.deleteAllInBatch();
+            parishRepository.saveAll(parishes(0, scale));
+        });
+
+        parishDocumentRepository.deleteAll();
+        parishDocumentRepository.insert(parishDocuments(0, scale));
+    }
+
+    static List<Parish> parishes(int offset, int count) {
+        List<Parish> parishes = new ArrayList<>(count);
+
+        for (int i = offset; i < offset + count; i++) {
+            parishes.add(Parish.builder()
+                    .name("PG_Name_" + i)
+                    .location("PG_Location_" + i)
+                    .foundedYear(FIRST_YEAR + i % YEAR_SPREAD)
+                    .build());
+        }
+
+        return parishes;
+    }
+
+    static List<ParishDocument> parishDocuments(int offset, int count) {
+        List<ParishDocument> parishDocuments = new ArrayList<>(count);
+
+        for (int i = offset; i < offset + count; i++) {
+            int year = FIRST_YEAR + i % YEAR_SPREAD;
+
+            parishDocuments.add(ParishDocument.builder()
+                    .id(new ObjectId())
+                    .name("MG_Name_" + i)
+                    .location("MG_Location_" + i)
+                    .foundedYear(year)
+                    .foundedYearIndexed(year)
+                    .build());
+        }
+
+        return parishDocuments;
+    }
+}
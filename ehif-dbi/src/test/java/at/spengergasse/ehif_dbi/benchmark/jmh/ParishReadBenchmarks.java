@@ -0,0 +1,37 @@
+package at.spengergasse.ehif_dbi.benchmark.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+public class ParishReadBenchmarks {
+
+    private static final int MIN_FOUNDED_YEAR = DataStoreState.FIRST_YEAR + 10;
+    private static final int MAX_FOUNDED_YEAR = DataStoreState.FIRST_YEAR + 20;
+
+    @Benchmark
+    public void postgresFindAllByFoundedYearBetween(DataStoreState state, Blackhole blackhole) {
+        blackhole.consume(state.parishRepository.findAllByFoundedYearBetween(MIN_FOUNDED_YEAR, MAX_FOUNDED_YEAR));
+    }
+
+    @Benchmark
+    public void mongoFindAllProjectedByFoundedYearBetween(DataStoreState state, Blackhole blackhole) {
+        blackhole.consume(state.parishDocumentRepository.findAllProjectedByFoundedYearBetween(MIN_FOUNDED_YEAR, MAX_FOUNDED_YEAR));
+    }
+
+    @Benchmark
+    public void postgresAverageFoundedYear(DataStoreState state, Blackhole blackhole) {
+        blackhole.consume(state.parishRepository.averageFoundedYear());
+    }
+
+    @Benchmark
+    public void mongoAverageFoundedYear(DataStoreState state, Blackhole blackhole) {
+        blackhole.consume(state.benchmarkRunner.averageFoundedYearMongo());
+    }
+}
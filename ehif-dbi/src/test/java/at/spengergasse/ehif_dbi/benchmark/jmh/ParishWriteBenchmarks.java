@@ -0,0 +1,67 @@
+package at.spengergasse.ehif_dbi.benchmark.jmh;
+
+import at.spengergasse.ehif_dbi.domain.mongo.ParishDocument;
+import at.spengergasse.ehif_dbi.domain.postgres.Parish;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Dspring.devtools.restart.enabled=false")
+public class ParishWriteBenchmarks {
+
+    /**
+     * Der Batch wird pro Invocation neu gebaut. Nach jeder Iteration werden nur die
+     * geschriebenen Einträge entfernt, die geseedeten Daten aus {@link DataStoreState} bleiben.
+     */
+    @State(Scope.Thread)
+    public static class WriteBatch {
+
+        @Param({"100", "1000"})
+        public int batchSize;
+
+        List<Parish> parishes;
+        List<ParishDocument> parishDocuments;
+
+        final List<Parish> writtenParishes = new ArrayList<>();
+        final List<ParishDocument> writtenParishDocuments = new ArrayList<>();
+
+        @Setup(Level.Invocation)
+        public void buildBatch() {
+            parishes = DataStoreState.parishes(0, batchSize);
+            parishDocuments = DataStoreState.parishDocuments(0, batchSize);
+        }
+
+        @TearDown(Level.Iteration)
+        public void cleanUp(DataStoreState state) {
+            state.transactionTemplate.executeWithoutResult(status ->
+                    state.parishRepository.deleteAllInBatch(writtenParishes)
+            );
+            state.parishDocumentRepository.deleteAll(writtenParishDocuments);
+
+            writtenParishes.clear();
+            writtenParishDocuments.clear();
+        }
+    }
+
+    @Benchmark
+    public void postgresSaveAll(DataStoreState state, WriteBatch batch, Blackhole blackhole) {
+        state.transactionTemplate.executeWithoutResult(status -> {
+            blackhole.consume(state.parishRepository.saveAll(batch.parishes));
+            state.parishRepository.flush();
+        });
+        batch.writtenParishes.addAll(batch.parishes);
+    }
+
+    @Benchmark
+    public void mongoInsert(DataStoreState state, WriteBatch batch, Blackhole blackhole) {
+        blackhole.consume(state.parishDocumentRepository.insert(batch.parishDocuments));
+        batch.writtenParishDocuments.addAll(batch.parishDocuments);
+    }
+}
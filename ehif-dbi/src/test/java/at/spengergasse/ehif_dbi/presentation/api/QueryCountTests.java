@@ -0,0 +1,88 @@
+package at.spengergasse.ehif_dbi.presentation.api;
+
+import at.spengergasse.ehif_dbi.TestcontainersConfiguration;
+import at.spengergasse.ehif_dbi.benchmark.data.SyntheticDataGenerator;
+import at.spengergasse.ehif_dbi.benchmark.state.BenchmarkStateManager;
+import at.spengergasse.ehif_dbi.benchmark.workload.DataShape;
+import at.spengergasse.ehif_dbi.service.postgres.ParishBulkLoadService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Schlägt fehl, sobald ein Listen-Endpoint pro Zeile zusätzliche Statements absetzt (N+1).
+ * Beide Datenmengen liegen unter der Default-Page-Size, damit auch die Pages alle Zeilen liefern.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountTests {
+
+	private static final int FEW_ROWS = 10;
+	private static final int MANY_ROWS = 40;
+	private static final DataShape DATA_SHAPE = new DataShape(2, 3);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private BenchmarkStateManager benchmarkStateManager;
+
+	@Autowired
+	private SyntheticDataGenerator syntheticDataGenerator;
+
+	@Autowired
+	private ParishBulkLoadService parishBulkLoadService;
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"/api/parish",
+			"/api/parish/summary",
+			"/api/parish/page",
+			"/api/parish/page?order=FOUNDED_YEAR",
+			"/api/priest",
+			"/api/priest/summary",
+			"/api/priest/page",
+			"/api/parishioner",
+			"/api/parishioner/summary",
+			"/api/parishioner/page"
+	})
+	void statementCountDoesNotScaleWithRows(String url) throws Exception {
+		long few = statementsFor(url, FEW_ROWS);
+		long many = statementsFor(url, MANY_ROWS);
+
+		assertEquals(few, many, () -> url + " setzt bei " + MANY_ROWS + " Parishes " + many
+				+ " statt " + few + " Statements ab");
+	}
+
+	private long statementsFor(String url, int parishes) throws Exception {
+		benchmarkStateManager.resetStores();
+		parishBulkLoadService.copyParishes(IntStream.range(0, parishes)
+				.mapToObj(i -> SyntheticDataGenerator.toEntity(syntheticDataGenerator.parish(i, DATA_SHAPE)))
+				.toList());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+
+		return statistics.getPrepareStatementCount();
+	}
+
+}